@@ -7,15 +7,19 @@ import io.quarkus.gizmo2.creator.ClassCreator;
 import io.quarkus.gizmo2.creator.InstanceMethodCreator;
 import io.quarkus.gizmo2.desc.MethodDesc;
 import io.quarkus.reactive.repository.BaseReactiveRepository;
+import io.quarkus.reactive.repository.annotations.query.Lock;
 import io.quarkus.reactive.repository.annotations.query.Query;
 import io.quarkus.reactive.repository.annotations.query.QueryParam;
 import io.quarkus.reactive.repository.types.Param;
+import io.quarkus.reactive.repository.types.QueryLock;
 import io.smallrye.mutiny.Uni;
+import jakarta.persistence.LockModeType;
 import java.lang.constant.ClassDesc;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationValue;
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.MethodInfo;
@@ -33,6 +37,9 @@ public class MethodImplFactory {
   // DotName for the @QueryParam annotation
   private static final DotName PARAM_ANNOTATION = DotName.createSimple(QueryParam.class);
 
+  // DotName for the @Lock annotation
+  private static final DotName LOCK_ANNOTATION = DotName.createSimple(Lock.class);
+
   /** Enum representing the possible return types of a method. */
   public static enum ReturnType {
     UNI,
@@ -44,9 +51,23 @@ public class MethodImplFactory {
    *
    * @param repositoryInterface the repository interface to process.
    * @param implClassCreator the class creator for the implementation class.
+   * @throws IllegalStateException if a method is annotated with @Lock but not with @Query.
    */
   public void createMethods(
       final ClassInfo repositoryInterface, final ClassCreator implClassCreator) {
+    repositoryInterface.methods().stream()
+        .filter(
+            methodInfo ->
+                methodInfo.hasAnnotation(LOCK_ANNOTATION)
+                    && !methodInfo.hasAnnotation(QUERY_ANNOTATION))
+        .findFirst()
+        .ifPresent(
+            methodInfo -> {
+              throw new IllegalStateException(
+                  String.format(
+                      "Method %s is annotated with @Lock but not with @Query.",
+                      methodInfo.name()));
+            });
     final List<MethodInfo> queryMethods =
         repositoryInterface.methods().stream()
             .filter(methodInfo -> methodInfo.hasAnnotation(QUERY_ANNOTATION))
@@ -108,6 +129,27 @@ public class MethodImplFactory {
     return paramVars;
   }
 
+  /**
+   * Resolves the lock mode and skip locked flag of a method annotated with @Lock.
+   *
+   * @param lockAnnotation the @Lock annotation.
+   * @return the lock mode name and whether locked rows are skipped.
+   * @throws IllegalStateException if skip locked is requested for another mode than
+   *     PESSIMISTIC_WRITE.
+   */
+  private Pair<String, Boolean> resolveLock(final AnnotationInstance lockAnnotation) {
+    final AnnotationValue modeValue = lockAnnotation.value("mode");
+    final AnnotationValue skipLockedValue = lockAnnotation.value("skipLocked");
+    final String mode =
+        modeValue == null ? LockModeType.PESSIMISTIC_WRITE.name() : modeValue.asEnum();
+    final boolean skipLocked = skipLockedValue != null && skipLockedValue.asBoolean();
+    if (skipLocked && !LockModeType.PESSIMISTIC_WRITE.name().equals(mode)) {
+      throw new IllegalStateException(
+          String.format("@Lock with skipLocked requires PESSIMISTIC_WRITE, got %s.", mode));
+    }
+    return Pair.of(mode, skipLocked);
+  }
+
   /**
    * Creates query method implementations for the given methods.
    *
@@ -128,6 +170,10 @@ public class MethodImplFactory {
 
       final AnnotationInstance queryAnnotation = queryMethod.annotation(QUERY_ANNOTATION);
       final String query = queryAnnotation.value().asString();
+      final Pair<String, Boolean> lock =
+          queryMethod.hasAnnotation(LOCK_ANNOTATION)
+              ? resolveLock(queryMethod.annotation(LOCK_ANNOTATION))
+              : null;
 
       implClassCreator.method(
           queryMethod.name(),
@@ -139,6 +185,18 @@ public class MethodImplFactory {
                 blockCreator -> {
                   final List<Expr> methodExpressions = new ArrayList<>();
                   methodExpressions.add(Const.of(query));
+                  if (lock != null) {
+                    methodExpressions.add(
+                        blockCreator.invokeStatic(
+                            MethodDesc.of(
+                                QueryLock.class,
+                                "of",
+                                QueryLock.class,
+                                String.class,
+                                boolean.class),
+                            Const.of(lock.getKey()),
+                            Const.of(lock.getValue())));
+                  }
                   final List<Expr> createParams =
                       parameterInfos.stream()
                           .map(
@@ -156,16 +214,25 @@ public class MethodImplFactory {
 
                   methodExpressions.add(blockCreator.newArray(Param.class, createParams));
 
-                  blockCreator.return_(
-                      blockCreator.invokeVirtual(
-                          MethodDesc.of(
+                  final MethodDesc methodToInvoke =
+                      lock != null
+                          ? MethodDesc.of(
+                              BaseReactiveRepository.class,
+                              methodNameToInvoke,
+                              Uni.class,
+                              String.class,
+                              QueryLock.class,
+                              Param[].class)
+                          : MethodDesc.of(
                               BaseReactiveRepository.class,
                               methodNameToInvoke,
                               Uni.class,
                               String.class,
-                              Param[].class),
-                          instanceMethodCreator.this_(),
-                          methodExpressions));
+                              Param[].class);
+
+                  blockCreator.return_(
+                      blockCreator.invokeVirtual(
+                          methodToInvoke, instanceMethodCreator.this_(), methodExpressions));
                 });
           });
     }
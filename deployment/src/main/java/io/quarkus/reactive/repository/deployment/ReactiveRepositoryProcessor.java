@@ -1,5 +1,6 @@
 package io.quarkus.reactive.repository.deployment;
 
+import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.arc.deployment.GeneratedBeanBuildItem;
 import io.quarkus.arc.deployment.GeneratedBeanGizmo2Adaptor;
 import io.quarkus.deployment.annotations.BuildProducer;
@@ -13,6 +14,8 @@ import io.quarkus.gizmo2.desc.ConstructorDesc;
 import io.quarkus.gizmo2.impl.constant.ClassConst;
 import io.quarkus.reactive.repository.BaseReactiveRepository;
 import io.quarkus.reactive.repository.annotations.bean.ReactiveRepositoryBean;
+import io.quarkus.reactive.repository.cache.EntityCacheRegistry;
+import io.quarkus.reactive.repository.writebehind.WriteBehindShutdownFlusher;
 import jakarta.inject.Singleton;
 import java.lang.constant.ClassDesc;
 import java.util.ArrayList;
@@ -47,6 +50,19 @@ public class ReactiveRepositoryProcessor {
     return new FeatureBuildItem(FEATURE);
   }
 
+  /**
+   * Registers the beans shipped with the runtime module.
+   *
+   * @return an `AdditionalBeanBuildItem` with the runtime beans.
+   */
+  @BuildStep
+  AdditionalBeanBuildItem runtimeBeans() {
+    return AdditionalBeanBuildItem.builder()
+        .addBeanClasses(WriteBehindShutdownFlusher.class, EntityCacheRegistry.class)
+        .setUnremovable()
+        .build();
+  }
+
   /**
    * Resolves a `Type` to a `ClassType` if possible.
    *
@@ -112,7 +128,8 @@ public class ReactiveRepositoryProcessor {
             classCreator.addAnnotation(Singleton.class);
             classCreator.implements_(ClassDesc.of(repositoryForImpl.name().toString()));
 
-            // Add constructor that accepts Mutiny Session Factory
+            // Add constructor that accepts Mutiny Session Factory and passes the repository
+            // interface so its @ReactiveRepositoryBean options can be resolved
             classCreator.constructor(
                 constructorCreator -> {
                   final This this_ = constructorCreator.this_();
@@ -124,10 +141,12 @@ public class ReactiveRepositoryProcessor {
                             ConstructorDesc.of(
                                 BaseReactiveRepository.class,
                                 Mutiny.SessionFactory.class,
+                                Class.class,
                                 Class.class),
                             this_,
                             sessionFactoryParam,
-                            ClassConst.of(entityClass));
+                            ClassConst.of(entityClass),
+                            ClassConst.of(ClassDesc.of(repositoryForImpl.name().toString())));
                         bodyCreator.return_();
                       });
                 });
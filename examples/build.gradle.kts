@@ -21,6 +21,7 @@ dependencies {
 
     implementation(project(":runtime"))
 
+    testImplementation(project(":testing"))
     testImplementation("io.quarkus:quarkus-junit5-mockito")
     testImplementation("io.quarkus:quarkus-junit5")
     testImplementation("org.junit.jupiter:junit-jupiter-api:6.0.0")
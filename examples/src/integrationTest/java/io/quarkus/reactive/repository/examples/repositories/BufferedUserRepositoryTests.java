@@ -0,0 +1,140 @@
+package io.quarkus.reactive.repository.examples.repositories;
+
+import static io.quarkus.reactive.repository.testing.QueryAssertions.assertQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.quarkus.reactive.repository.examples.entities.User;
+import io.quarkus.reactive.repository.writebehind.WriteBehindFailure;
+import io.quarkus.reactive.repository.writebehind.WriteBehindStatistics;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class BufferedUserRepositoryTests extends BaseTest {
+  @Inject private BufferedUserRepository bufferedUserRepository;
+  @Inject private UserRepository userRepository;
+
+  @Test
+  public void testUpdatesAreCoalesced() {
+    final User user =
+        bufferedUserRepository
+            .persistWithTransaction(new User(null, "Buffered", "Coalesced"))
+            .await()
+            .atMost(awaitDuration());
+    final WriteBehindStatistics before = bufferedUserRepository.writeBehindStatistics();
+
+    user.setFirstName("First");
+    bufferedUserRepository.persistWithTransaction(user).await().atMost(awaitDuration());
+    user.setFirstName("Second");
+    bufferedUserRepository.persistWithTransaction(user).await().atMost(awaitDuration());
+
+    final WriteBehindStatistics buffered = bufferedUserRepository.writeBehindStatistics();
+    assertEquals(1, buffered.depth());
+    assertEquals(before.coalescedWrites() + 1, buffered.coalescedWrites());
+    assertSame(
+        user, bufferedUserRepository.findById(user.getId()).await().atMost(awaitDuration()));
+
+    final List<String> statements =
+        assertQueries(bufferedUserRepository.flushWriteBehind(), awaitDuration()).statements();
+    assertEquals(1, statements.stream().filter(sql -> sql.startsWith("update")).count());
+    assertEquals(0, bufferedUserRepository.writeBehindStatistics().depth());
+    assertEquals(
+        "Second",
+        userRepository.findById(user.getId()).await().atMost(awaitDuration()).getFirstName());
+
+    bufferedUserRepository.deleteWithTransaction(user).await().atMost(awaitDuration());
+  }
+
+  @Test
+  public void testFlushAtMaxBatchSize() {
+    final List<User> users =
+        bufferedUserRepository
+            .persistAllWithTransaction(
+                new User(null, "Batch1", "Threshold"),
+                new User(null, "Batch2", "Threshold"),
+                new User(null, "Batch3", "Threshold"))
+            .await()
+            .atMost(awaitDuration());
+    final WriteBehindStatistics before = bufferedUserRepository.writeBehindStatistics();
+
+    for (final User user : users) {
+      user.setLastName("Flushed");
+      bufferedUserRepository.persistWithTransaction(user).await().atMost(awaitDuration());
+    }
+
+    final WriteBehindStatistics after = bufferedUserRepository.writeBehindStatistics();
+    assertEquals(0, after.depth());
+    assertEquals(before.flushes() + 1, after.flushes());
+    assertEquals(before.flushedEntities() + users.size(), after.flushedEntities());
+    assertEquals(
+        users.size(),
+        userRepository.getUsersWhereLastName("Flushed").await().atMost(awaitDuration()).size());
+
+    bufferedUserRepository.deleteAllWithTransaction(users).await().atMost(awaitDuration());
+  }
+
+  @Test
+  public void testDeleteDropsBufferedUpdate() {
+    final User user =
+        bufferedUserRepository
+            .persistWithTransaction(new User(null, "Buffered", "Deleted"))
+            .await()
+            .atMost(awaitDuration());
+    user.setFirstName("Updated");
+    bufferedUserRepository.persistWithTransaction(user).await().atMost(awaitDuration());
+    assertEquals(1, bufferedUserRepository.writeBehindStatistics().depth());
+
+    bufferedUserRepository.deleteWithTransaction(user).await().atMost(awaitDuration());
+    assertEquals(0, bufferedUserRepository.writeBehindStatistics().depth());
+
+    bufferedUserRepository.flushWriteBehind().await().atMost(awaitDuration());
+    assertFalse(userRepository.exists(user.getId()).await().atMost(awaitDuration()));
+  }
+
+  @Test
+  public void testFailingUpdateIsIsolatedAndDropped() {
+    final List<User> users =
+        bufferedUserRepository
+            .persistAllWithTransaction(
+                new User(null, "Good", "Isolated"), new User(null, "Bad", "Isolated"))
+            .await()
+            .atMost(awaitDuration());
+    final User good = users.get(0);
+    final User bad = users.get(1);
+    final WriteBehindStatistics before = bufferedUserRepository.writeBehindStatistics();
+
+    good.setFirstName("Written");
+    // Longer than the column, so every write of it fails
+    bad.setFirstName("x".repeat(300));
+    bufferedUserRepository.persistWithTransaction(good).await().atMost(awaitDuration());
+    bufferedUserRepository.persistWithTransaction(bad).await().atMost(awaitDuration());
+
+    // The first failure returns the batch to the buffer, the second one isolates the bad update
+    assertThrows(
+        RuntimeException.class,
+        () -> bufferedUserRepository.flushWriteBehind().await().atMost(awaitDuration()));
+    assertEquals(2, bufferedUserRepository.writeBehindStatistics().depth());
+    bufferedUserRepository.flushWriteBehind().await().atMost(awaitDuration());
+
+    final WriteBehindStatistics after = bufferedUserRepository.writeBehindStatistics();
+    assertEquals(0, after.depth());
+    assertEquals(before.failedFlushes() + 2, after.failedFlushes());
+    assertEquals(before.droppedEntities() + 1, after.droppedEntities());
+    final List<WriteBehindFailure<User>> failures =
+        bufferedUserRepository.drainWriteBehindFailures();
+    assertEquals(List.of(bad.getId()), failures.stream().map(f -> f.entity().getId()).toList());
+    assertEquals(
+        "Written",
+        userRepository.findById(good.getId()).await().atMost(awaitDuration()).getFirstName());
+    assertEquals(
+        "Bad",
+        userRepository.findById(bad.getId()).await().atMost(awaitDuration()).getFirstName());
+
+    userRepository.deleteAllWithTransaction(users).await().atMost(awaitDuration());
+  }
+}
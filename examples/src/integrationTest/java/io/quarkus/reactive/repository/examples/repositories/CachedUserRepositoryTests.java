@@ -0,0 +1,81 @@
+package io.quarkus.reactive.repository.examples.repositories;
+
+import static io.quarkus.reactive.repository.testing.QueryAssertions.assertQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.quarkus.reactive.repository.cache.EntityCacheStatistics;
+import io.quarkus.reactive.repository.examples.entities.User;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class CachedUserRepositoryTests extends BaseTest {
+  @Inject private CachedUserRepository cachedUserRepository;
+  @Inject private UserRepository userRepository;
+
+  @Test
+  public void testCacheHitIssuesNoStatements() {
+    final User user = persist(new User(null, "Cached", "Hit"));
+    final EntityCacheStatistics before = cachedUserRepository.cacheStatistics();
+
+    assertQueries(cachedUserRepository.findById(user.getId()), awaitDuration()).count(1);
+    assertQueries(cachedUserRepository.findById(user.getId()), awaitDuration()).count(0);
+
+    final EntityCacheStatistics after = cachedUserRepository.cacheStatistics();
+    assertEquals(before.misses() + 1, after.misses());
+    assertEquals(before.hits() + 1, after.hits());
+
+    cachedUserRepository.deleteWithTransaction(user).await().atMost(awaitDuration());
+  }
+
+  @Test
+  public void testPersistInvalidatesCachedEntity() {
+    final User user = persist(new User(null, "Cached", "Persisted"));
+    cachedUserRepository.findById(user.getId()).await().atMost(awaitDuration());
+
+    persist(new User(user.getId(), "Updated", "Persisted"));
+    final EntityCacheStatistics before = cachedUserRepository.cacheStatistics();
+    final User reloaded = findById(user.getId());
+
+    assertEquals("Updated", reloaded.getFirstName());
+    assertEquals(before.misses() + 1, cachedUserRepository.cacheStatistics().misses());
+
+    cachedUserRepository.deleteWithTransaction(reloaded).await().atMost(awaitDuration());
+  }
+
+  @Test
+  public void testWriteThroughUncachedRepositoryInvalidatesCachedEntity() {
+    final User user = persist(new User(null, "Cached", "Shared"));
+    cachedUserRepository.findById(user.getId()).await().atMost(awaitDuration());
+
+    userRepository
+        .persistWithTransaction(new User(user.getId(), "Changed", "Shared"))
+        .await()
+        .atMost(awaitDuration());
+    final User reloaded = findById(user.getId());
+
+    assertEquals("Changed", reloaded.getFirstName());
+
+    cachedUserRepository.deleteWithTransaction(reloaded).await().atMost(awaitDuration());
+  }
+
+  @Test
+  public void testDeleteInvalidatesCachedEntity() {
+    final User user = persist(new User(null, "Cached", "Deleted"));
+    cachedUserRepository.findById(user.getId()).await().atMost(awaitDuration());
+
+    cachedUserRepository.deleteWithTransaction(user).await().atMost(awaitDuration());
+
+    assertNull(findById(user.getId()));
+  }
+
+  private User persist(final User user) {
+    return cachedUserRepository.persistWithTransaction(user).await().atMost(awaitDuration());
+  }
+
+  private User findById(final Long id) {
+    return cachedUserRepository.findById(id).await().atMost(awaitDuration());
+  }
+}
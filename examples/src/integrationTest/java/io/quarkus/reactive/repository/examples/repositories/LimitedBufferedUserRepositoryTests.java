@@ -0,0 +1,67 @@
+package io.quarkus.reactive.repository.examples.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import io.quarkus.reactive.repository.examples.entities.User;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class LimitedBufferedUserRepositoryTests extends BaseTest {
+  @Inject private LimitedBufferedUserRepository limitedBufferedUserRepository;
+  @Inject private UserRepository userRepository;
+
+  @Test
+  public void testNestedWriteFillingBufferDoesNotDeadlock() {
+    final List<User> users =
+        limitedBufferedUserRepository
+            .persistAllWithTransaction(
+                new User(null, "Nested1", "Filled"), new User(null, "Nested2", "Filled"))
+            .await()
+            .atMost(awaitDuration());
+    users.forEach(user -> user.setLastName("Written"));
+
+    // The second update fills the buffer while the transaction holds the only slot
+    limitedBufferedUserRepository
+        .withTransaction(
+            session ->
+                limitedBufferedUserRepository
+                    .persistWithTransaction(users.get(0))
+                    .chain(
+                        () -> limitedBufferedUserRepository.persistWithTransaction(users.get(1))))
+        .await()
+        .atMost(awaitDuration());
+    limitedBufferedUserRepository.flushWriteBehind().await().atMost(awaitDuration());
+
+    assertEquals(
+        users.size(),
+        userRepository.getUsersWhereLastName("Written").await().atMost(awaitDuration()).size());
+
+    userRepository.deleteAllWithTransaction(users).await().atMost(awaitDuration());
+  }
+
+  @Test
+  public void testNestedDeleteDoesNotDeadlock() {
+    final User user =
+        limitedBufferedUserRepository
+            .persistWithTransaction(new User(null, "Nested", "Deleted"))
+            .await()
+            .atMost(awaitDuration());
+    user.setFirstName("Updated");
+
+    limitedBufferedUserRepository
+        .withTransaction(
+            session ->
+                limitedBufferedUserRepository
+                    .persistWithTransaction(user)
+                    .chain(() -> limitedBufferedUserRepository.deleteWithTransaction(user)))
+        .await()
+        .atMost(awaitDuration());
+
+    assertEquals(0, limitedBufferedUserRepository.writeBehindStatistics().depth());
+    assertFalse(userRepository.exists(user.getId()).await().atMost(awaitDuration()));
+  }
+}
@@ -0,0 +1,97 @@
+package io.quarkus.reactive.repository.examples.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.quarkus.reactive.repository.concurrency.BulkheadRejectedException;
+import io.quarkus.reactive.repository.examples.entities.User;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class LimitedUserRepositoryTests extends BaseTest {
+  @Inject private LimitedUserRepository limitedUserRepository;
+
+  @Test
+  public void testQueuedOperationStartsWhenSlotFrees() throws Exception {
+    final CompletableFuture<Integer> running =
+        holdSlot(1, Duration.ofMillis(500)).subscribeAsCompletionStage();
+    final CompletableFuture<Integer> queued =
+        holdSlot(2, Duration.ZERO).subscribeAsCompletionStage();
+    assertFalse(queued.isDone());
+    assertEquals(1, running.get(awaitDuration().toMillis(), TimeUnit.MILLISECONDS));
+    assertEquals(2, queued.get(awaitDuration().toMillis(), TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testOperationRejectedWhenQueueFull() throws Exception {
+    final CompletableFuture<Integer> running =
+        holdSlot(1, Duration.ofMillis(500)).subscribeAsCompletionStage();
+    final CompletableFuture<Integer> queued =
+        holdSlot(2, Duration.ZERO).subscribeAsCompletionStage();
+    assertThrows(
+        BulkheadRejectedException.class,
+        () -> holdSlot(3, Duration.ZERO).await().atMost(awaitDuration()));
+    assertEquals(1, running.get(awaitDuration().toMillis(), TimeUnit.MILLISECONDS));
+    assertEquals(2, queued.get(awaitDuration().toMillis(), TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testSiblingOperationsEachTakeSlot() {
+    assertThrows(
+        BulkheadRejectedException.class,
+        () ->
+            Uni.join()
+                .all(
+                    holdSlot(1, Duration.ofMillis(300)),
+                    holdSlot(2, Duration.ZERO),
+                    holdSlot(3, Duration.ZERO))
+                .andFailFast()
+                .await()
+                .atMost(awaitDuration()));
+  }
+
+  @Test
+  public void testTimeoutReleasesSlot() {
+    assertThrows(
+        TimeoutException.class,
+        () -> holdSlot(1, Duration.ofSeconds(3)).await().atMost(awaitDuration()));
+    assertEquals(2, holdSlot(2, Duration.ZERO).await().atMost(awaitDuration()));
+  }
+
+  @Test
+  public void testNestedOperationsDoNotDeadlock() {
+    final User user = new User(null, "Limited", "Nested");
+    limitedUserRepository
+        .persistWithTransaction(user)
+        .invoke(persisted -> assertNotNull(persisted.getId()))
+        .call(
+            persisted ->
+                limitedUserRepository
+                    .withTransaction(session -> limitedUserRepository.findById(persisted.getId()))
+                    .invoke(Assertions::assertNotNull))
+        .call(persisted -> limitedUserRepository.deleteWithTransaction(persisted))
+        .chain(deleted -> limitedUserRepository.exists(deleted))
+        .invoke(Assertions::assertFalse)
+        .await()
+        .atMost(awaitDuration());
+  }
+
+  /** Creates an operation holding a slot of the repository for the given time. */
+  private Uni<Integer> holdSlot(final int result, final Duration duration) {
+    return limitedUserRepository.withSession(
+        session ->
+            duration.isZero()
+                ? Uni.createFrom().item(result)
+                : Uni.createFrom().item(result).onItem().delayIt().by(duration));
+  }
+}
@@ -0,0 +1,10 @@
+package io.quarkus.reactive.repository.examples.repositories;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.reactive.repository.testing.RecordingStatementInspector;
+import jakarta.inject.Singleton;
+
+/** Records the statements of the {@code shard2} persistence unit for {@code assertQueries}. */
+@Singleton
+@PersistenceUnitExtension("shard2")
+public class Shard2StatementInspector extends RecordingStatementInspector {}
@@ -0,0 +1,123 @@
+package io.quarkus.reactive.repository.examples.repositories;
+
+import static io.quarkus.reactive.repository.testing.QueryAssertions.assertQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.quarkus.hibernate.orm.PersistenceUnit;
+import io.quarkus.reactive.repository.examples.entities.ShardedUser;
+import io.quarkus.reactive.repository.types.Param;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.NonUniqueResultException;
+import java.util.Comparator;
+import java.util.List;
+import org.hibernate.reactive.mutiny.Mutiny;
+import org.junit.jupiter.api.Test;
+
+/** Even ids are routed to the default persistence unit and odd ids to {@code shard2}. */
+@QuarkusTest
+public class ShardedUserRepositoryTests extends BaseTest {
+  @Inject private ShardedUserRepository shardedUserRepository;
+  @Inject private Mutiny.SessionFactory defaultShard;
+
+  @Inject
+  @PersistenceUnit("shard2")
+  private Mutiny.SessionFactory secondShard;
+
+  @Test
+  public void testSingleEntityOperationsAreRoutedById() {
+    final ShardedUser even = new ShardedUser(100L, "Routed");
+    final ShardedUser odd = new ShardedUser(101L, "Routed");
+    shardedUserRepository.persistWithTransaction(even).await().atMost(awaitDuration());
+    shardedUserRepository.persistWithTransaction(odd).await().atMost(awaitDuration());
+
+    assertNotNull(find(defaultShard, even.getId()));
+    assertNull(find(secondShard, even.getId()));
+    assertNull(find(defaultShard, odd.getId()));
+    assertNotNull(find(secondShard, odd.getId()));
+    assertEquals(
+        even, shardedUserRepository.findById(even.getId()).await().atMost(awaitDuration()));
+    assertEquals(odd, shardedUserRepository.findById(odd.getId()).await().atMost(awaitDuration()));
+
+    shardedUserRepository.deleteWithTransaction(even).await().atMost(awaitDuration());
+    shardedUserRepository.deleteWithTransaction(odd).await().atMost(awaitDuration());
+    assertNull(find(defaultShard, even.getId()));
+    assertNull(find(secondShard, odd.getId()));
+  }
+
+  @Test
+  public void testSelectMultipleQueriesAllShards() {
+    final List<ShardedUser> users =
+        List.of(
+            new ShardedUser(203L, "Scatter"),
+            new ShardedUser(200L, "Scatter"),
+            new ShardedUser(201L, "Scatter"),
+            new ShardedUser(202L, "Scatter"));
+    shardedUserRepository.persistAllWithTransaction(users).await().atMost(awaitDuration());
+
+    final List<ShardedUser> found =
+        shardedUserRepository
+            .selectMultiple("from ShardedUser u where u.name = :name", Param.of("name", "Scatter"))
+            .await()
+            .atMost(awaitDuration());
+    assertEquals(users.size(), found.size());
+
+    final List<ShardedUser> sorted =
+        shardedUserRepository
+            .selectMultiple(
+                Comparator.comparing(ShardedUser::getId),
+                "from ShardedUser u where u.name = :name order by u.id",
+                Param.of("name", "Scatter"))
+            .await()
+            .atMost(awaitDuration());
+    assertEquals(List.of(200L, 201L, 202L, 203L), sorted.stream().map(ShardedUser::getId).toList());
+
+    shardedUserRepository.deleteAllWithTransaction(users).await().atMost(awaitDuration());
+  }
+
+  @Test
+  public void testSelectFailsWhenSeveralShardsMatch() {
+    final List<ShardedUser> users =
+        List.of(new ShardedUser(300L, "Unique"), new ShardedUser(301L, "Duplicate"));
+    shardedUserRepository.persistAllWithTransaction(users).await().atMost(awaitDuration());
+
+    final ShardedUser unique =
+        shardedUserRepository
+            .select("from ShardedUser u where u.name = :name", Param.of("name", "Unique"))
+            .await()
+            .atMost(awaitDuration());
+    assertEquals(300L, unique.getId());
+
+    final ShardedUser duplicate = new ShardedUser(302L, "Duplicate");
+    shardedUserRepository.persistWithTransaction(duplicate).await().atMost(awaitDuration());
+    assertThrows(
+        NonUniqueResultException.class,
+        () ->
+            shardedUserRepository
+                .select("from ShardedUser u where u.name = :name", Param.of("name", "Duplicate"))
+                .await()
+                .atMost(awaitDuration()));
+
+    shardedUserRepository.deleteAllWithTransaction(users).await().atMost(awaitDuration());
+    shardedUserRepository.deleteWithTransaction(duplicate).await().atMost(awaitDuration());
+  }
+
+  @Test
+  public void testQueryAssertionsCountStatementsOfAllShards() {
+    assertQueries(
+            shardedUserRepository.selectMultiple(
+                "from ShardedUser u where u.name = :name", Param.of("name", "Counted")),
+            awaitDuration())
+        .count(2);
+  }
+
+  private ShardedUser find(final Mutiny.SessionFactory shard, final Long id) {
+    return shard
+        .withSession(session -> session.find(ShardedUser.class, id))
+        .await()
+        .atMost(awaitDuration());
+  }
+}
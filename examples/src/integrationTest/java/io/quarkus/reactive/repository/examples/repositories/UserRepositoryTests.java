@@ -1,16 +1,28 @@
 package io.quarkus.reactive.repository.examples.repositories;
 
+import static io.quarkus.reactive.repository.testing.QueryAssertions.assertQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import io.quarkus.reactive.repository.examples.entities.User;
+import io.quarkus.reactive.repository.types.Param;
 import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import jakarta.inject.Inject;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 @QuarkusTest
 public class UserRepositoryTests extends BaseTest {
   @Inject private UserRepository userRepository;
+  @Inject private Vertx vertx;
 
   @Test
   public void testAddOneEntity() {
@@ -24,4 +36,78 @@ public class UserRepositoryTests extends BaseTest {
         .await()
         .atMost(awaitDuration());
   }
+
+  @Test
+  public void testClaimBatchSkipsRowsClaimedByAnotherTransaction() throws Exception {
+    assertSecondClaimSkipsLockedRows(
+        "ClaimBatch",
+        lastName ->
+            userRepository.claimBatch(
+                "from User u where u.lastName = :lastName", 10, Param.of("lastName", lastName)));
+  }
+
+  @Test
+  public void testLockQueryMethodSkipsRowsLockedByAnotherTransaction() throws Exception {
+    assertSecondClaimSkipsLockedRows("LockQuery", userRepository::lockUsersWhereLastName);
+  }
+
+  @Test
+  public void testQueryMethodIssuesSingleStatement() {
+    assertQueries(userRepository.getUsersWhereLastName("Georgiev"), awaitDuration())
+        .count(1)
+        .noRepeatedStatements();
+  }
+
+  /**
+   * Holds a claim within a transaction on one Vert.x context and asserts that the same claim on
+   * another context returns no rows until the first transaction completes.
+   */
+  private void assertSecondClaimSkipsLockedRows(
+      final String lastName, final Function<String, Uni<List<User>>> claim) throws Exception {
+    final User user =
+        userRepository
+            .persistWithTransaction(new User(null, "Claimed", lastName))
+            .await()
+            .atMost(awaitDuration());
+    final CompletableFuture<Integer> claimed = new CompletableFuture<>();
+    final CompletableFuture<Void> release = new CompletableFuture<>();
+    final CompletableFuture<Void> holder =
+        onNewContext(
+            userRepository.withTransaction(
+                session ->
+                    claim
+                        .apply(lastName)
+                        .invoke(rows -> claimed.complete(rows.size()))
+                        .chain(() -> Uni.createFrom().completionStage(release))));
+    holder.exceptionally(
+        failure -> {
+          claimed.completeExceptionally(failure);
+          return null;
+        });
+    try {
+      assertEquals(1, claimed.get(awaitDuration().toMillis(), TimeUnit.MILLISECONDS));
+      assertEquals(0, claimInNewTransaction(lastName, claim).size());
+    } finally {
+      release.complete(null);
+    }
+    holder.get(awaitDuration().toMillis(), TimeUnit.MILLISECONDS);
+    assertEquals(1, claimInNewTransaction(lastName, claim).size());
+
+    userRepository.deleteWithTransaction(user).await().atMost(awaitDuration());
+  }
+
+  private List<User> claimInNewTransaction(
+      final String lastName, final Function<String, Uni<List<User>>> claim) throws Exception {
+    return onNewContext(userRepository.withTransaction(session -> claim.apply(lastName)))
+        .get(awaitDuration().toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /** Subscribes to the operation on a new Vert.x duplicated context. */
+  private <T> CompletableFuture<T> onNewContext(final Uni<T> operation) {
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final Context context = VertxContext.createNewDuplicatedContext(vertx.getOrCreateContext());
+    context.runOnContext(
+        ignored -> operation.subscribe().with(result::complete, result::completeExceptionally));
+    return result;
+  }
 }
@@ -0,0 +1,21 @@
+package io.quarkus.reactive.repository.examples.entities;
+
+import io.quarkus.reactive.repository.types.Identifiable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "examples_sharded_users")
+public class ShardedUser implements Identifiable<Long> {
+  // Assigned by the application, as sharded repositories route by the id
+  private @Id Long id;
+
+  private String name;
+}
@@ -0,0 +1,13 @@
+package io.quarkus.reactive.repository.examples.repositories;
+
+import io.quarkus.reactive.repository.ReactiveRepository;
+import io.quarkus.reactive.repository.annotations.bean.ReactiveRepositoryBean;
+import io.quarkus.reactive.repository.examples.entities.User;
+
+// Example with write-behind updates
+@ReactiveRepositoryBean(
+    writeBehind = true,
+    writeBehindMaxBatchSize = 3,
+    writeBehindFlushIntervalMillis = 60_000,
+    writeBehindMaxRetries = 1)
+public interface BufferedUserRepository extends ReactiveRepository<User> {}
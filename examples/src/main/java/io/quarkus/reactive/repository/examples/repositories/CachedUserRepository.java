@@ -0,0 +1,9 @@
+package io.quarkus.reactive.repository.examples.repositories;
+
+import io.quarkus.reactive.repository.ReactiveRepository;
+import io.quarkus.reactive.repository.annotations.bean.ReactiveRepositoryBean;
+import io.quarkus.reactive.repository.examples.entities.User;
+
+// Example with an entity cache region
+@ReactiveRepositoryBean(cached = true)
+public interface CachedUserRepository extends ReactiveRepository<User> {}
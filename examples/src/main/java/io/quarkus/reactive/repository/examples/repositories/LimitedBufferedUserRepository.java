@@ -0,0 +1,14 @@
+package io.quarkus.reactive.repository.examples.repositories;
+
+import io.quarkus.reactive.repository.ReactiveRepository;
+import io.quarkus.reactive.repository.annotations.bean.ReactiveRepositoryBean;
+import io.quarkus.reactive.repository.examples.entities.User;
+
+// Example with write-behind updates and a concurrency limit
+@ReactiveRepositoryBean(
+    maxConcurrentOperations = 1,
+    maxQueuedOperations = 4,
+    writeBehind = true,
+    writeBehindMaxBatchSize = 2,
+    writeBehindFlushIntervalMillis = 60_000)
+public interface LimitedBufferedUserRepository extends ReactiveRepository<User> {}
@@ -0,0 +1,12 @@
+package io.quarkus.reactive.repository.examples.repositories;
+
+import io.quarkus.reactive.repository.ReactiveRepository;
+import io.quarkus.reactive.repository.annotations.bean.ReactiveRepositoryBean;
+import io.quarkus.reactive.repository.examples.entities.User;
+
+// Example with a concurrency limit
+@ReactiveRepositoryBean(
+    maxConcurrentOperations = 1,
+    maxQueuedOperations = 1,
+    operationTimeoutMillis = 1000)
+public interface LimitedUserRepository extends ReactiveRepository<User> {}
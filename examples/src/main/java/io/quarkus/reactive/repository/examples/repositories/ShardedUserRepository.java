@@ -0,0 +1,9 @@
+package io.quarkus.reactive.repository.examples.repositories;
+
+import io.quarkus.reactive.repository.ReactiveRepository;
+import io.quarkus.reactive.repository.annotations.bean.ReactiveRepositoryBean;
+import io.quarkus.reactive.repository.examples.entities.ShardedUser;
+
+// Example with entities sharded across two persistence units
+@ReactiveRepositoryBean(shards = {"<default>", "shard2"})
+public interface ShardedUserRepository extends ReactiveRepository<ShardedUser> {}
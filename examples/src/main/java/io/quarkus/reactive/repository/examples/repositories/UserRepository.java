@@ -2,6 +2,7 @@ package io.quarkus.reactive.repository.examples.repositories;
 
 import io.quarkus.reactive.repository.ReactiveRepository;
 import io.quarkus.reactive.repository.annotations.bean.ReactiveRepositoryBean;
+import io.quarkus.reactive.repository.annotations.query.Lock;
 import io.quarkus.reactive.repository.annotations.query.Query;
 import io.quarkus.reactive.repository.annotations.query.QueryParam;
 import io.quarkus.reactive.repository.examples.entities.User;
@@ -20,4 +21,9 @@ public interface UserRepository extends ReactiveRepository<User> {
   // Example with query annotation
   @Query("from User u where u.lastName = :lastName")
   public Uni<List<User>> getUsersWhereLastName(final @QueryParam("lastName") String lastName);
+
+  // Example with query and lock annotations
+  @Query("from User u where u.lastName = :lastName")
+  @Lock(skipLocked = true)
+  public Uni<List<User>> lockUsersWhereLastName(final @QueryParam("lastName") String lastName);
 }
@@ -15,6 +15,14 @@ dependencies {
     implementation(enforcedPlatform("io.quarkus:quarkus-extension-processor:${quarkusPlatformVersion}"))
 
     implementation("io.quarkus:quarkus-hibernate-reactive")
+    implementation("io.quarkus:quarkus-caffeine")
+
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 quarkusExtension {
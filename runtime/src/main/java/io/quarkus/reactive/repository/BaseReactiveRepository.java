@@ -1,144 +1,271 @@
 package io.quarkus.reactive.repository;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
+import io.quarkus.arc.Arc;
+import io.quarkus.reactive.repository.cache.EntityCacheRegion;
+import io.quarkus.reactive.repository.cache.EntityCacheRegistry;
+import io.quarkus.reactive.repository.cache.EntityCacheStatistics;
+import io.quarkus.reactive.repository.concurrency.RepositoryBulkhead;
+import io.quarkus.reactive.repository.config.RepositoryOptions;
+import io.quarkus.reactive.repository.sharding.ShardRouter;
+import io.quarkus.reactive.repository.sharding.SortedMerge;
 import io.quarkus.reactive.repository.types.Identifiable;
 import io.quarkus.reactive.repository.types.Param;
+import io.quarkus.reactive.repository.types.QueryLock;
+import io.quarkus.reactive.repository.writebehind.WriteBehindBuffer;
+import io.quarkus.reactive.repository.writebehind.WriteBehindFailure;
+import io.quarkus.reactive.repository.writebehind.WriteBehindStatistics;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import jakarta.persistence.NoResultException;
+import jakarta.persistence.NonUniqueResultException;
 import jakarta.persistence.metamodel.EntityType;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import org.hibernate.LockMode;
 import org.hibernate.reactive.mutiny.Mutiny;
 
 public class BaseReactiveRepository<Entity extends Identifiable<?>>
     implements ReactiveRepository<Entity> {
   private final Mutiny.SessionFactory sf;
   private final Class<Entity> entityType;
+  private final ShardRouter shards;
+  private final RepositoryBulkhead bulkhead;
+  private final WriteBehindBuffer<Entity> writeBehind;
+  private final EntityCacheRegistry cacheRegistry;
+  private final EntityCacheRegion<Entity> cache;
 
   public BaseReactiveRepository() {
     this.sf = null;
     this.entityType = null;
+    this.shards = null;
+    this.bulkhead = null;
+    this.writeBehind = null;
+    this.cacheRegistry = null;
+    this.cache = null;
   }
 
   public BaseReactiveRepository(final Mutiny.SessionFactory sf, final Class<Entity> entityType) {
     this.sf = sf;
     this.entityType = entityType;
+    this.shards = ShardRouter.single(sf);
+    this.bulkhead = new RepositoryBulkhead(entityType.getSimpleName(), 0, 0, null);
+    this.writeBehind = null;
+    this.cacheRegistry = null;
+    this.cache = null;
+  }
+
+  public BaseReactiveRepository(
+      final Mutiny.SessionFactory sf,
+      final Class<Entity> entityType,
+      final Class<?> repositoryInterface) {
+    this.sf = sf;
+    this.entityType = entityType;
+    final RepositoryOptions options = RepositoryOptions.of(repositoryInterface);
+    this.shards = ShardRouter.of(sf, options.shards());
+    this.bulkhead = RepositoryBulkhead.of(options);
+    this.writeBehind =
+        options.writeBehind()
+            ? new WriteBehindBuffer<>(
+                options.repositoryName(),
+                options.writeBehindMaxBatchSize(),
+                options.writeBehindFlushInterval(),
+                options.writeBehindMaxRetries(),
+                this::mergeBatch)
+            : null;
+    // Every repository invalidates the regions of its entity, cached or not
+    this.cacheRegistry = Arc.container().instance(EntityCacheRegistry.class).get();
+    this.cache =
+        options.cached()
+            ? cacheRegistry.region(
+                options.cacheRegion().isEmpty()
+                    ? resolveEntityName(sf, entityType)
+                    : options.cacheRegion(),
+                entityType,
+                options.cacheMaxSize(),
+                options.cacheTtl())
+            : null;
   }
 
   @Override
   public Uni<Entity> findById(final Object id) {
-    return sf.withSession(session -> session.find(entityType, id));
+    if (nonNull(writeBehind)) {
+      return Uni.createFrom()
+          .deferred(
+              () -> {
+                final Entity pending = writeBehind.pending(id);
+                return nonNull(pending) ? Uni.createFrom().item(pending) : findCached(id);
+              });
+    }
+    return findCached(id);
+  }
+
+  /** Looks up the entity in the cache region, loading and caching it on a miss. */
+  private Uni<Entity> findCached(final Object id) {
+    if (isNull(cache)) {
+      return find(id);
+    }
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              final Entity cached = cache.get(id);
+              if (nonNull(cached)) {
+                return Uni.createFrom().item(cached);
+              }
+              // Read before the load, so a write committing during the load is not overwritten
+              final long generation = cache.generation(id);
+              return find(id)
+                  .invoke(
+                      loaded -> {
+                        if (nonNull(loaded)) {
+                          cache.put(loaded, generation);
+                        }
+                      });
+            });
+  }
+
+  private Uni<Entity> find(final Object id) {
+    return bulkhead.submit(() -> load(id));
   }
 
   @Override
   public Uni<Entity> persistWithTransaction(final Entity entity) {
-    final boolean isNew = isNull(entity.getId());
-    if (isNew) {
-      return sf.withTransaction(session -> session.persist(entity).replaceWith(entity));
-    } else {
-      return withTransaction(session -> session.merge(entity));
+    if (nonNull(writeBehind) && nonNull(entity.getId())) {
+      // Inside a consumer holding the slot a flush needs, the flush must not be waited for
+      return bulkhead
+          .nestedOr(() -> writeBehind.enqueue(entity), () -> writeBehind.write(entity))
+          .invoke(() -> invalidate(entity.getId()));
     }
+    return bulkhead
+        .submit(() -> persist(entity))
+        .onTermination()
+        .invoke(() -> invalidate(entity.getId()));
   }
 
   @Override
   public Uni<List<Entity>> persistAllWithTransaction(List<Entity> entities) {
-    return withTransaction(
-        session ->
-            Multi.createFrom()
-                .iterable(entities)
-                .onItem()
-                .transformToUniAndMerge(this::persistWithTransaction)
-                .collect()
-                .asList());
+    return bulkhead
+        .submit(
+            () ->
+                perShard(
+                    entities,
+                    (shard, shardEntities) ->
+                        shard.withTransaction(
+                            session ->
+                                Multi.createFrom()
+                                    .iterable(shardEntities)
+                                    .onItem()
+                                    .transformToUniAndMerge(this::persist)
+                                    .collect()
+                                    .asList())))
+        .onTermination()
+        .invoke(() -> entities.forEach(entity -> invalidate(entity.getId())))
+        .map(results -> results.stream().flatMap(Collection::stream).toList());
   }
 
   @Override
   @SafeVarargs
   public final Uni<List<Entity>> persistAllWithTransaction(final Entity... entities) {
-    return withTransaction(
-        session ->
-            Multi.createFrom()
-                .items(entities)
-                .onItem()
-                .transformToUniAndMerge(this::persistWithTransaction)
-                .collect()
-                .asList());
+    return persistAllWithTransaction(Arrays.asList(entities));
   }
 
   @Override
   public Uni<Void> deleteWithTransaction(Entity entity) {
-    return withTransaction(
-        session ->
-            findById(entity.getId())
-                .onItem()
-                .ifNotNull()
-                .transformToUni(
-                    existingEntity ->
-                        withTransaction(deleteSession -> deleteSession.remove(existingEntity)))
-                .replaceWithVoid());
+    return discardPending(List.of(entity))
+        .chain(
+            () ->
+                bulkhead.submit(
+                    () ->
+                        transactionFor(
+                            entity,
+                            session ->
+                                load(entity.getId())
+                                    .onItem()
+                                    .ifNotNull()
+                                    .transformToUni(
+                                        existingEntity ->
+                                            transactionFor(
+                                                existingEntity,
+                                                deleteSession ->
+                                                    deleteSession.remove(existingEntity)))
+                                    .replaceWithVoid())))
+        .onTermination()
+        .invoke(() -> invalidate(entity.getId()));
   }
 
   @Override
   public Uni<Void> deleteAllWithTransaction(List<Entity> entities) {
-    return withTransaction(
-        session ->
-            Multi.createFrom()
-                .iterable(entities)
-                .onItem()
-                .transformToUniAndMerge(e -> findById(e.getId()))
-                .filter(entity -> !isNull(entity))
-                .collect()
-                .asList()
-                .chain(
-                    existingEntities -> {
-                      if (existingEntities.isEmpty()) {
-                        return Uni.createFrom().voidItem();
-                      }
-                      return withTransaction(
-                              deleteSession -> deleteSession.removeAll(existingEntities))
-                          .replaceWithVoid();
-                    }));
+    return discardPending(entities)
+        .chain(
+            () ->
+                bulkhead.submit(
+                    () ->
+                        perShard(
+                            entities,
+                            (shard, shardEntities) ->
+                                shard.withTransaction(
+                                    session ->
+                                        Multi.createFrom()
+                                            .iterable(shardEntities)
+                                            .onItem()
+                                            .transformToUniAndMerge(e -> load(e.getId()))
+                                            .filter(entity -> !isNull(entity))
+                                            .collect()
+                                            .asList()
+                                            .chain(
+                                                existingEntities -> {
+                                                  if (existingEntities.isEmpty()) {
+                                                    return Uni.createFrom().voidItem();
+                                                  }
+                                                  return shard.withTransaction(
+                                                      deleteSession ->
+                                                          deleteSession.removeAll(
+                                                              existingEntities.toArray()));
+                                                })))))
+        .onTermination()
+        .invoke(() -> entities.forEach(entity -> invalidate(entity.getId())))
+        .replaceWithVoid();
   }
 
   @Override
   public Uni<Void> deleteAllWithTransaction(Entity... entities) {
-    return withTransaction(
-        session ->
-            Multi.createFrom()
-                .items(entities)
-                .onItem()
-                .transformToUniAndMerge(e -> findById(e.getId()))
-                .filter(entity -> !isNull(entity))
-                .collect()
-                .asList()
-                .chain(
-                    existingEntities -> {
-                      if (existingEntities.isEmpty()) {
-                        return Uni.createFrom().voidItem();
-                      }
-                      return withTransaction(
-                              deleteSession -> deleteSession.removeAll(existingEntities))
-                          .replaceWithVoid();
-                    }));
+    return deleteAllWithTransaction(Arrays.asList(entities));
   }
 
   @Override
   public <R> Uni<R> withTransaction(final Function<Mutiny.Session, Uni<R>> consumer) {
-    return sf.withTransaction(consumer);
+    // The consumer may change any entity, so every cache region of the entity is dropped
+    return transaction(sf, consumer)
+        .onTermination()
+        .invoke(
+            () -> {
+              if (nonNull(cacheRegistry)) {
+                cacheRegistry.invalidateAll(entityType);
+              }
+            });
   }
 
   @Override
   public <R> Uni<R> withSession(Function<Mutiny.Session, Uni<R>> consumer) {
-    return sf.withSession(consumer);
+    return bulkhead.submit(() -> sf.withSession(bulkhead.scoped(consumer)));
   }
 
   @Override
   public <R> Uni<R> withSelectionQuery(
       final String query, final Function<Mutiny.SelectionQuery<Entity>, Uni<R>> queryConsumer) {
-    return sf.withSession(session -> queryConsumer.apply(session.createQuery(query, entityType)));
+    return bulkhead.submit(
+        () ->
+            sf.withSession(
+                bulkhead.scoped(
+                    session -> queryConsumer.apply(session.createQuery(query, entityType)))));
   }
 
   @Override
@@ -148,24 +275,72 @@ public class BaseReactiveRepository<Entity extends Identifiable<?>>
 
   @Override
   public Uni<List<Entity>> selectMultiple(String query, Param... params) {
-    return withSelectionQuery(
-        query,
-        entitySelectionQuery -> {
-          Arrays.stream(params)
-              .forEach(param -> entitySelectionQuery.setParameter(param.name(), param.value()));
-          return entitySelectionQuery.getResultList();
-        });
+    if (!shards.isSharded()) {
+      return withSelectionQuery(
+          query,
+          entitySelectionQuery -> {
+            Arrays.stream(params)
+                .forEach(param -> entitySelectionQuery.setParameter(param.name(), param.value()));
+            return entitySelectionQuery.getResultList();
+          });
+    }
+    return scatter(query, params, Mutiny.SelectionQuery::getResultList)
+        .map(results -> results.stream().flatMap(Collection::stream).toList());
+  }
+
+  @Override
+  public Uni<List<Entity>> selectMultiple(
+      Comparator<? super Entity> order, String query, Param... params) {
+    if (!shards.isSharded()) {
+      return selectMultiple(query, params);
+    }
+    return scatter(query, params, Mutiny.SelectionQuery::getResultList)
+        .map(results -> SortedMerge.merge(results, order));
   }
 
   @Override
   public Uni<Entity> select(String query, Param... params) {
-    return withSelectionQuery(
+    if (!shards.isSharded()) {
+      return withSelectionQuery(
+          query,
+          entitySelectionQuery -> {
+            Arrays.stream(params)
+                .forEach(param -> entitySelectionQuery.setParameter(param.name(), param.value()));
+            return entitySelectionQuery.getSingleResult();
+          });
+    }
+    return scatter(query, params, Mutiny.SelectionQuery::getSingleResultOrNull)
+        .map(
+            results -> {
+              final List<Entity> found = results.stream().filter(Objects::nonNull).toList();
+              if (found.isEmpty()) {
+                throw new NoResultException("No shard returned a result for: " + query);
+              }
+              if (found.size() > 1) {
+                throw new NonUniqueResultException(
+                    String.format("%d shards returned a result for: %s", found.size(), query));
+              }
+              return found.getFirst();
+            });
+  }
+
+  @Override
+  public Uni<List<Entity>> selectMultiple(String query, QueryLock lock, Param... params) {
+    return lockedSelection(query, lock, params, Mutiny.SelectionQuery::getResultList);
+  }
+
+  @Override
+  public Uni<Entity> select(String query, QueryLock lock, Param... params) {
+    return lockedSelection(query, lock, params, Mutiny.SelectionQuery::getSingleResult);
+  }
+
+  @Override
+  public Uni<List<Entity>> claimBatch(String query, int limit, Param... params) {
+    return lockedSelection(
         query,
-        entitySelectionQuery -> {
-          Arrays.stream(params)
-              .forEach(param -> entitySelectionQuery.setParameter(param.name(), param.value()));
-          return entitySelectionQuery.getSingleResult();
-        });
+        QueryLock.forUpdateSkipLocked(),
+        params,
+        entitySelectionQuery -> entitySelectionQuery.setMaxResults(limit).getResultList());
   }
 
   @Override
@@ -178,6 +353,202 @@ public class BaseReactiveRepository<Entity extends Identifiable<?>>
     return findById(id).map(Objects::nonNull);
   }
 
+  @Override
+  public Uni<Void> flushWriteBehind() {
+    return isNull(writeBehind) ? Uni.createFrom().voidItem() : writeBehind.flushOnNewContext();
+  }
+
+  @Override
+  public WriteBehindStatistics writeBehindStatistics() {
+    return isNull(writeBehind) ? WriteBehindStatistics.DISABLED : writeBehind.statistics();
+  }
+
+  @Override
+  public List<WriteBehindFailure<Entity>> drainWriteBehindFailures() {
+    return isNull(writeBehind) ? List.of() : writeBehind.drainFailures();
+  }
+
+  @Override
+  public EntityCacheStatistics cacheStatistics() {
+    return isNull(cache) ? EntityCacheStatistics.DISABLED : cache.statistics();
+  }
+
+  private void invalidate(final Object id) {
+    if (nonNull(cacheRegistry) && nonNull(id)) {
+      cacheRegistry.invalidate(entityType, id);
+    }
+  }
+
+  private Uni<Void> mergeBatch(final List<Entity> entities) {
+    return bulkhead
+        .submit(
+            () ->
+                perShard(
+                    entities,
+                    (shard, shardEntities) ->
+                        shard.withTransaction(
+                            session ->
+                                Multi.createFrom()
+                                    .iterable(shardEntities)
+                                    .onItem()
+                                    .transformToUniAndConcatenate(session::merge)
+                                    .collect()
+                                    .last())))
+        .onTermination()
+        .invoke(() -> entities.forEach(entity -> invalidate(entity.getId())))
+        .replaceWithVoid();
+  }
+
+  /*
+   * The methods below run within the single bulkhead slot taken by the public operation that
+   * called them, so they must not submit to the bulkhead again.
+   */
+
+  /** Loads the entity from its shard. */
+  private Uni<Entity> load(final Object id) {
+    return Uni.createFrom()
+        .deferred(
+            () -> shards.forId(id).withSession(session -> session.find(entityType, id)));
+  }
+
+  /**
+   * Persists a new entity, or merges or buffers an update of an existing one. The caller
+   * invalidates the cached entity once the surrounding transaction completes.
+   */
+  private Uni<Entity> persist(final Entity entity) {
+    final boolean isNew = isNull(entity.getId());
+    if (isNew) {
+      return transactionFor(entity, session -> session.persist(entity).replaceWith(entity));
+    } else if (nonNull(writeBehind)) {
+      // Waiting for a flush here would need a second slot, so the flush runs in the background
+      return writeBehind.enqueue(entity);
+    } else {
+      return transactionFor(entity, session -> session.merge(entity));
+    }
+  }
+
+  /** Runs a user supplied consumer within a transaction, holding one bulkhead slot. */
+  private <R> Uni<R> transaction(
+      final Mutiny.SessionFactory shard, final Function<Mutiny.Session, Uni<R>> consumer) {
+    return bulkhead.submit(() -> shard.withTransaction(bulkhead.scoped(consumer)));
+  }
+
+  /** Runs a transaction on the shard of the given entity. */
+  private <R> Uni<R> transactionFor(
+      final Entity entity, final Function<Mutiny.Session, Uni<R>> consumer) {
+    return Uni.createFrom()
+        .deferred(() -> shards.forId(entity.getId()).withTransaction(consumer));
+  }
+
+  /**
+   * Groups the entities by shard and runs the operation on every shard in parallel, with one
+   * transaction per shard. Writes spanning several shards are not atomic.
+   */
+  private <R> Uni<List<R>> perShard(
+      final List<Entity> entities,
+      final BiFunction<Mutiny.SessionFactory, List<Entity>, Uni<R>> operation) {
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              final Map<Mutiny.SessionFactory, List<Entity>> groups = shards.group(entities);
+              if (groups.isEmpty()) {
+                return Uni.createFrom().item(List.of());
+              }
+              return Uni.join()
+                  .all(
+                      groups.entrySet().stream()
+                          .map(group -> operation.apply(group.getKey(), group.getValue()))
+                          .toList())
+                  .andFailFast();
+            });
+  }
+
+  /**
+   * Runs the query with the given lock within a transaction of the default persistence unit.
+   * Locks of different shards cannot be held by one transaction, so sharded repositories reject
+   * locking queries.
+   */
+  private <R> Uni<R> lockedSelection(
+      final String query,
+      final QueryLock lock,
+      final Param[] params,
+      final Function<Mutiny.SelectionQuery<Entity>, Uni<R>> resultConsumer) {
+    if (shards.isSharded()) {
+      return Uni.createFrom()
+          .failure(
+              new IllegalStateException(
+                  "Locking queries are not supported on sharded repositories."));
+    }
+    return transaction(
+        sf,
+        session -> {
+          final Mutiny.SelectionQuery<Entity> selectionQuery =
+              session.createQuery(query, entityType);
+          if (lock.skipLocked()) {
+            selectionQuery.setLockMode(LockMode.UPGRADE_SKIPLOCKED);
+          } else {
+            selectionQuery.setLockMode(lock.mode());
+          }
+          Arrays.stream(params)
+              .forEach(param -> selectionQuery.setParameter(param.name(), param.value()));
+          return resultConsumer.apply(selectionQuery);
+        });
+  }
+
+  /**
+   * Runs the query on all shards in parallel and returns the result of every shard. The shard
+   * queries together take a single bulkhead slot.
+   */
+  private <R> Uni<List<R>> scatter(
+      final String query,
+      final Param[] params,
+      final Function<Mutiny.SelectionQuery<Entity>, Uni<R>> resultConsumer) {
+    return bulkhead.submit(
+        () ->
+            Uni.join()
+                .all(
+                    shards.all().stream()
+                        .map(
+                            shard ->
+                                shard.withSession(
+                                    session -> {
+                                      final Mutiny.SelectionQuery<Entity> selectionQuery =
+                                          session.createQuery(query, entityType);
+                                      Arrays.stream(params)
+                                          .forEach(
+                                              param ->
+                                                  selectionQuery.setParameter(
+                                                      param.name(), param.value()));
+                                      return resultConsumer.apply(selectionQuery);
+                                    }))
+                        .toList())
+                .andFailFast());
+  }
+
+  /**
+   * Drops the pending write-behind updates of entities that are about to be deleted, so the delete
+   * cannot be overwritten by a later flush. Runs before the delete takes its bulkhead slot, as it
+   * may wait for a flush that needs one. Inside a consumer that already holds the slot, the running
+   * flush is not waited for.
+   */
+  private Uni<Void> discardPending(final List<Entity> entities) {
+    if (isNull(writeBehind)) {
+      return Uni.createFrom().voidItem();
+    }
+    return bulkhead.nestedOr(
+        () -> {
+          entities.forEach(entity -> writeBehind.discardNow(entity.getId()));
+          return Uni.createFrom().voidItem();
+        },
+        () ->
+            Multi.createFrom()
+                .iterable(entities)
+                .onItem()
+                .transformToUniAndConcatenate(entity -> writeBehind.discard(entity.getId()))
+                .collect()
+                .last());
+  }
+
   private <T> String resolveEntityName(final Mutiny.SessionFactory sf, final Class<T> entityClass) {
     return sf.getMetamodel().getEntities().stream()
         .filter(e -> e.getJavaType().equals(entityClass))
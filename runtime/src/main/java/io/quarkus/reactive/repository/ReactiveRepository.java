@@ -1,8 +1,13 @@
 package io.quarkus.reactive.repository;
 
+import io.quarkus.reactive.repository.cache.EntityCacheStatistics;
 import io.quarkus.reactive.repository.types.Identifiable;
 import io.quarkus.reactive.repository.types.Param;
+import io.quarkus.reactive.repository.types.QueryLock;
+import io.quarkus.reactive.repository.writebehind.WriteBehindFailure;
+import io.quarkus.reactive.repository.writebehind.WriteBehindStatistics;
 import io.smallrye.mutiny.Uni;
+import java.util.Comparator;
 import java.util.List;
 import java.util.function.Function;
 import org.hibernate.reactive.mutiny.Mutiny;
@@ -72,7 +77,8 @@ public interface ReactiveRepository<Entity extends Identifiable<?>> {
   public Uni<Void> deleteAllWithTransaction(Entity... entities);
 
   /**
-   * Executes a function within a transaction.
+   * Executes a function within a transaction. Once it completes, all cached entities of the
+   * repository entity type are invalidated.
    *
    * @param <R> The type of the result returned by the function.
    * @param consumer The function to execute, which takes a {@link Mutiny.Session}.
@@ -81,7 +87,8 @@ public interface ReactiveRepository<Entity extends Identifiable<?>> {
   public <R> Uni<R> withTransaction(final Function<Mutiny.Session, Uni<R>> consumer);
 
   /**
-   * Executes a function with a session.
+   * Executes a function with a session. Writes made by the function do not invalidate the entity
+   * cache, use {@link #withTransaction} or the repository write methods to change cached entities.
    *
    * @param <R> The type of the result returned by the function.
    * @param consumer The function to execute, which takes a {@link Mutiny.Session}.
@@ -117,6 +124,18 @@ public interface ReactiveRepository<Entity extends Identifiable<?>> {
    */
   public Uni<List<Entity>> selectMultiple(String query, Param... params);
 
+  /**
+   * Executes a query and selects multiple entities in the given order. On sharded repositories the
+   * results of the shards are merged by the order, so the query must sort by the same order.
+   *
+   * @param order The order of the query results.
+   * @param query The query string.
+   * @param params The parameters for the query.
+   * @return A {@link Uni} containing a sorted list of selected entities.
+   */
+  public Uni<List<Entity>> selectMultiple(
+      Comparator<? super Entity> order, String query, Param... params);
+
   /**
    * Executes a query and selects a single entity.
    *
@@ -126,6 +145,40 @@ public interface ReactiveRepository<Entity extends Identifiable<?>> {
    */
   public Uni<Entity> select(String query, Param... params);
 
+  /**
+   * Executes a query within a transaction and selects and locks multiple entities. The locks are
+   * held until the surrounding transaction completes.
+   *
+   * @param query The query string.
+   * @param lock The lock to acquire on the selected rows.
+   * @param params The parameters for the query.
+   * @return A {@link Uni} containing a list of selected entities.
+   */
+  public Uni<List<Entity>> selectMultiple(String query, QueryLock lock, Param... params);
+
+  /**
+   * Executes a query within a transaction and selects and locks a single entity. The lock is held
+   * until the surrounding transaction completes.
+   *
+   * @param query The query string.
+   * @param lock The lock to acquire on the selected row.
+   * @param params The parameters for the query.
+   * @return A {@link Uni} containing the selected entity.
+   */
+  public Uni<Entity> select(String query, QueryLock lock, Param... params);
+
+  /**
+   * Locks and returns up to {@code limit} entities matching the query, skipping rows locked by
+   * other transactions ({@code FOR UPDATE SKIP LOCKED}). Call it within {@link #withTransaction}
+   * so the rows stay claimed until the work on them is done.
+   *
+   * @param query The query string.
+   * @param limit The maximum number of entities to claim.
+   * @param params The parameters for the query.
+   * @return A {@link Uni} containing the claimed entities.
+   */
+  public Uni<List<Entity>> claimBatch(String query, int limit, Param... params);
+
   /**
    * Checks if the given entity exists in the repository.
    *
@@ -141,4 +194,35 @@ public interface ReactiveRepository<Entity extends Identifiable<?>> {
    * @return A {@link Uni} containing a {@link Boolean} value indicating whether the entity exists.
    */
   public Uni<Boolean> exists(final Object id);
+
+  /**
+   * Writes all updates waiting in the write-behind buffer. Completes immediately if write-behind is
+   * not enabled for the repository.
+   *
+   * @return A {@link Uni} representing the completion of the operation.
+   */
+  public Uni<Void> flushWriteBehind();
+
+  /**
+   * Retrieves the statistics of the write-behind buffer.
+   *
+   * @return The {@link WriteBehindStatistics} of the repository.
+   */
+  public WriteBehindStatistics writeBehindStatistics();
+
+  /**
+   * Removes and returns the write-behind updates dropped since the last call, because they kept
+   * failing to be written. Their callers were already told the write succeeded, so this is the
+   * only way to recover them.
+   *
+   * @return The dropped updates with the cause of their last failure, oldest first.
+   */
+  public List<WriteBehindFailure<Entity>> drainWriteBehindFailures();
+
+  /**
+   * Retrieves the hit, miss and eviction counters of the entity cache region.
+   *
+   * @return The {@link EntityCacheStatistics} of the repository.
+   */
+  public EntityCacheStatistics cacheStatistics();
 }
@@ -11,7 +11,91 @@ import java.lang.annotation.Target;
  * Annotation to mark a class as a reactive repository bean. This annotation is used to indicate
  * that the annotated class is a reactive repository bean, which can be managed and processed by the
  * framework. Should annotate only interfaces extending {@link ReactiveRepository}
+ *
+ * <p>Every option can be overridden in the application configuration with the key {@code
+ * reactive-repository.<RepositorySimpleName>.<option>}, e.g. {@code
+ * reactive-repository.UserRepository.max-concurrent-operations=10}.
  */
 @Target(TYPE)
 @Retention(RUNTIME)
-public @interface ReactiveRepositoryBean {}
+public @interface ReactiveRepositoryBean {
+
+  /**
+   * Maximum number of operations of the repository that may run at the same time. Zero disables
+   * the limit. Configuration key: {@code max-concurrent-operations}.
+   */
+  int maxConcurrentOperations() default 0;
+
+  /**
+   * Maximum number of operations that may wait for a free slot once {@link
+   * #maxConcurrentOperations()} is reached. Operations above it fail immediately. Configuration
+   * key: {@code max-queued-operations}.
+   */
+  int maxQueuedOperations() default 0;
+
+  /**
+   * Time in milliseconds an operation may take, including the time spent waiting for a free slot,
+   * before it is cancelled. Zero disables the timeout. Configuration key: {@code
+   * operation-timeout-millis}.
+   */
+  long operationTimeoutMillis() default 0;
+
+  /**
+   * Buffers updates of existing entities made through {@code persistWithTransaction} and writes
+   * them in batches, keeping only the last update per identifier. New entities are persisted
+   * immediately. Configuration key: {@code write-behind}.
+   */
+  boolean writeBehind() default false;
+
+  /**
+   * Number of buffered updates that triggers a write-behind flush. Configuration key: {@code
+   * write-behind-max-batch-size}.
+   */
+  int writeBehindMaxBatchSize() default 500;
+
+  /**
+   * Maximum time in milliseconds an update stays in the write-behind buffer. Configuration key:
+   * {@code write-behind-flush-interval-millis}.
+   */
+  long writeBehindFlushIntervalMillis() default 1000;
+
+  /**
+   * Number of failed flushes a buffered update may take part in before its batch is written one
+   * entity at a time. Updates that still fail are dropped and returned by {@code
+   * drainWriteBehindFailures}. Configuration key: {@code write-behind-max-retries}.
+   */
+  int writeBehindMaxRetries() default 3;
+
+  /**
+   * Names of the persistence units the entities are sharded across, {@code <default>} being the
+   * default persistence unit. Operations on a single entity are routed by the hash of its
+   * identifier, {@code select} and {@code selectMultiple} run on all shards. An empty array
+   * disables sharding. Configuration key: {@code shards}, as a comma separated list.
+   */
+  String[] shards() default {};
+
+  /**
+   * Caches entities loaded by {@code findById} in an in-process region shared by all sessions, so
+   * repeated lookups skip the database. Writes through the repository invalidate the region.
+   * Configuration key: {@code cached}.
+   */
+  boolean cached() default false;
+
+  /**
+   * Name of the cache region, the entity name if empty. Repositories of the same entity naming the
+   * same region share its entries, and the size and time to live of the repository creating it
+   * first. Configuration key: {@code cache-region}.
+   */
+  String cacheRegion() default "";
+
+  /**
+   * Maximum number of entities in the cache region. Configuration key: {@code cache-max-size}.
+   */
+  long cacheMaxSize() default 10_000;
+
+  /**
+   * Time in milliseconds an entity stays cached after it was loaded. Configuration key: {@code
+   * cache-ttl-millis}.
+   */
+  long cacheTtlMillis() default 600_000;
+}
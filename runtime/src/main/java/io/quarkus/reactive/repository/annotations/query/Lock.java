@@ -0,0 +1,23 @@
+package io.quarkus.reactive.repository.annotations.query;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import jakarta.persistence.LockModeType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Locks the rows selected by a {@link Query} method. The query runs within a transaction, so the
+ * locks are held until the surrounding {@code withTransaction} completes. With {@link
+ * #skipLocked()} rows locked by other transactions are skipped instead of waited for, which is only
+ * supported for {@link LockModeType#PESSIMISTIC_WRITE}. Methods annotated with {@code @Lock} but
+ * not with {@link Query} fail the build.
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Lock {
+  LockModeType mode() default LockModeType.PESSIMISTIC_WRITE;
+
+  boolean skipLocked() default false;
+}
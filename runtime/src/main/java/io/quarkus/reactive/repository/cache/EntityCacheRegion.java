@@ -0,0 +1,122 @@
+package io.quarkus.reactive.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.quarkus.reactive.repository.types.Identifiable;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process cache of entities by identifier, shared by all sessions of the repositories using the
+ * region. Cached instances are detached and handed to every caller, so they should be treated as
+ * read-only.
+ *
+ * <p>Every invalidation bumps a generation, per identifier stripe and for the whole region. A
+ * loaded entity is only cached if no invalidation happened since the load started, so a load
+ * racing with a write cannot cache the row it read before the write committed.
+ *
+ * @param <Entity> The type of the cached entity.
+ */
+public class EntityCacheRegion<Entity extends Identifiable<?>> {
+  private static final int STRIPES = 64;
+
+  private final String name;
+  private final Class<Entity> entityType;
+  private final Cache<Object, Entity> entities;
+  private final AtomicLong invalidations = new AtomicLong();
+  private final AtomicLong regionGeneration = new AtomicLong();
+  private final AtomicLongArray stripeGenerations = new AtomicLongArray(STRIPES);
+
+  /**
+   * @param name the name of the region.
+   * @param entityType the type of the cached entity.
+   * @param maxSize the maximum number of cached entities.
+   * @param ttl the time an entity stays cached after it was loaded.
+   */
+  public EntityCacheRegion(
+      final String name, final Class<Entity> entityType, final long maxSize, final Duration ttl) {
+    this.name = name;
+    this.entityType = entityType;
+    this.entities =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public Class<Entity> entityType() {
+    return entityType;
+  }
+
+  /**
+   * Returns the cached entity with the given identifier, counting a hit or a miss.
+   *
+   * @param id The identifier of the entity.
+   * @return The cached entity, or null if it is not cached.
+   */
+  public Entity get(final Object id) {
+    return entities.getIfPresent(id);
+  }
+
+  /**
+   * Returns the invalidation generation of the given identifier. Read it before loading the entity
+   * and pass it to {@link #put}.
+   *
+   * @param id The identifier of the entity.
+   * @return The current generation.
+   */
+  public long generation(final Object id) {
+    return regionGeneration.get() + stripeGenerations.get(stripe(id));
+  }
+
+  /**
+   * Caches a loaded entity unless it was invalidated since its load started.
+   *
+   * @param entity The loaded entity.
+   * @param generation The generation of its identifier read before the load.
+   */
+  public void put(final Entity entity, final long generation) {
+    final Object id = entity.getId();
+    if (generation(id) != generation) {
+      return;
+    }
+    entities.put(id, entity);
+    // An invalidation between the check and the put may have missed the entity
+    if (generation(id) != generation) {
+      entities.invalidate(id);
+    }
+  }
+
+  public void invalidate(final Object id) {
+    invalidations.incrementAndGet();
+    stripeGenerations.incrementAndGet(stripe(id));
+    entities.invalidate(id);
+  }
+
+  public void invalidateAll() {
+    invalidations.incrementAndGet();
+    regionGeneration.incrementAndGet();
+    entities.invalidateAll();
+  }
+
+  /**
+   * @return A snapshot of the region statistics.
+   */
+  public EntityCacheStatistics statistics() {
+    final CacheStats stats = entities.stats();
+    return new EntityCacheStatistics(
+        name,
+        entities.estimatedSize(),
+        stats.hitCount(),
+        stats.missCount(),
+        stats.evictionCount(),
+        invalidations.get());
+  }
+
+  private static int stripe(final Object id) {
+    return Math.floorMod(id.hashCode(), STRIPES);
+  }
+}
@@ -0,0 +1,75 @@
+package io.quarkus.reactive.repository.cache;
+
+import io.quarkus.reactive.repository.types.Identifiable;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Cache regions of the application by name. Repositories naming the same region share its entries
+ * and statistics. The size and time to live of a region are taken from the repository that creates
+ * it first. Regions are also indexed by entity type, so a write through any repository of an
+ * entity, cached or not, invalidates the entities cached by all regions of that type.
+ */
+@Singleton
+public class EntityCacheRegistry {
+  private final ConcurrentMap<String, EntityCacheRegion<?>> regions = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Class<?>, List<EntityCacheRegion<?>>> regionsByType =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Returns the region with the given name, creating it if it does not exist yet.
+   *
+   * @param <Entity> The type of the cached entity.
+   * @param name the name of the region.
+   * @param entityType the type of the cached entity.
+   * @param maxSize the maximum number of cached entities of a new region.
+   * @param ttl the time an entity stays cached in a new region.
+   * @return the region.
+   * @throws IllegalStateException if the region already caches another entity type.
+   */
+  @SuppressWarnings("unchecked")
+  public <Entity extends Identifiable<?>> EntityCacheRegion<Entity> region(
+      final String name, final Class<Entity> entityType, final long maxSize, final Duration ttl) {
+    final EntityCacheRegion<?> region =
+        regions.computeIfAbsent(
+            name,
+            ignored -> {
+              final EntityCacheRegion<Entity> created =
+                  new EntityCacheRegion<>(name, entityType, maxSize, ttl);
+              regionsByType
+                  .computeIfAbsent(entityType, type -> new CopyOnWriteArrayList<>())
+                  .add(created);
+              return created;
+            });
+    if (!region.entityType().equals(entityType)) {
+      throw new IllegalStateException(
+          String.format(
+              "Cache region %s already caches %s, cannot cache %s.",
+              name, region.entityType().getName(), entityType.getName()));
+    }
+    return (EntityCacheRegion<Entity>) region;
+  }
+
+  /**
+   * Removes the entity with the given identifier from every region caching the entity type.
+   *
+   * @param entityType the type of the written entity.
+   * @param id the identifier of the written entity.
+   */
+  public void invalidate(final Class<?> entityType, final Object id) {
+    regionsByType.getOrDefault(entityType, List.of()).forEach(region -> region.invalidate(id));
+  }
+
+  /**
+   * Removes all entities from every region caching the entity type.
+   *
+   * @param entityType the type of the written entities.
+   */
+  public void invalidateAll(final Class<?> entityType) {
+    regionsByType.getOrDefault(entityType, List.of()).forEach(EntityCacheRegion::invalidateAll);
+  }
+}
@@ -0,0 +1,19 @@
+package io.quarkus.reactive.repository.cache;
+
+/**
+ * Snapshot of the entity cache region of a repository.
+ *
+ * @param region name of the cache region.
+ * @param size number of cached entities.
+ * @param hits number of {@code findById} calls answered from the cache.
+ * @param misses number of {@code findById} calls that loaded the entity from the database.
+ * @param evictions number of entities evicted because of the size limit or the time to live.
+ * @param invalidations number of entities and full regions invalidated by writes.
+ */
+public record EntityCacheStatistics(
+    String region, long size, long hits, long misses, long evictions, long invalidations) {
+
+  /** Statistics of a repository that does not cache entities. */
+  public static final EntityCacheStatistics DISABLED =
+      new EntityCacheStatistics("", 0, 0, 0, 0, 0);
+}
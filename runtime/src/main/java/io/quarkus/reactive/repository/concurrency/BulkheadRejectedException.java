@@ -0,0 +1,21 @@
+package io.quarkus.reactive.repository.concurrency;
+
+/**
+ * Thrown when a repository operation is rejected because the repository already runs its maximum
+ * number of concurrent operations and its wait queue is full.
+ */
+public class BulkheadRejectedException extends RuntimeException {
+  private final String repositoryName;
+
+  public BulkheadRejectedException(final String repositoryName) {
+    super(
+        String.format(
+            "Repository %s rejected the operation: concurrency limit reached and wait queue full.",
+            repositoryName));
+    this.repositoryName = repositoryName;
+  }
+
+  public String repositoryName() {
+    return repositoryName;
+  }
+}
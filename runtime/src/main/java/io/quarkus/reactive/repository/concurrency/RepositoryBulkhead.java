@@ -0,0 +1,256 @@
+package io.quarkus.reactive.repository.concurrency;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import io.quarkus.reactive.repository.config.RepositoryOptions;
+import io.smallrye.mutiny.Context;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of operations of a single repository that run at the same time. Operations
+ * above the limit wait in a bounded queue and are rejected with {@link BulkheadRejectedException}
+ * once the queue is full. Operations started from within a consumer wrapped by {@link #scoped},
+ * e.g. a {@code select} inside {@code withTransaction}, run on the slot of that consumer, so a
+ * repository call composed of others cannot deadlock on its own repository. The marker is carried
+ * in the Mutiny subscription context of the consumer, so it works on any thread, and sibling
+ * operations started outside a consumer each take their own slot.
+ */
+public class RepositoryBulkhead {
+  private static final AtomicLong INSTANCES = new AtomicLong();
+
+  private final String repositoryName;
+  private final int maxConcurrent;
+  private final int maxQueued;
+  private final Duration timeout;
+  private final String contextKey =
+      RepositoryBulkhead.class.getName() + ".scope-" + INSTANCES.incrementAndGet();
+
+  // Guarded by this
+  private final Deque<Ticket> queue = new ArrayDeque<>();
+  private int running;
+
+  public RepositoryBulkhead(
+      final String repositoryName,
+      final int maxConcurrent,
+      final int maxQueued,
+      final Duration timeout) {
+    this.repositoryName = repositoryName;
+    this.maxConcurrent = maxConcurrent;
+    this.maxQueued = maxQueued;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Creates a bulkhead from the resolved repository options.
+   *
+   * @param options the repository options.
+   * @return the bulkhead.
+   */
+  public static RepositoryBulkhead of(final RepositoryOptions options) {
+    return new RepositoryBulkhead(
+        options.repositoryName(),
+        options.maxConcurrentOperations(),
+        options.maxQueuedOperations(),
+        options.operationTimeout());
+  }
+
+  /**
+   * Runs the operation once a slot is free. The returned {@link Uni} fails with {@link
+   * BulkheadRejectedException} if no slot and no queue space is available, and with a {@link
+   * io.smallrye.mutiny.TimeoutException} if the operation does not complete within the configured
+   * timeout. Cancelling the returned {@link Uni} frees its slot or queue space.
+   *
+   * @param <T> The type of the operation result.
+   * @param operation supplies the operation to run.
+   * @return A {@link Uni} containing the result of the operation.
+   */
+  public <T> Uni<T> submit(final Supplier<Uni<T>> operation) {
+    return nestedOr(
+        operation,
+        () -> {
+          final Uni<T> limited =
+              maxConcurrent > 0 ? limit(operation) : Uni.createFrom().deferred(operation);
+          if (isNull(timeout)) {
+            return limited;
+          }
+          return limited.ifNoItem().after(timeout).fail();
+        });
+  }
+
+  /**
+   * Runs the first operation if it is subscribed from within a consumer wrapped by {@link #scoped},
+   * and the second one otherwise. Neither operation takes a slot. Lets callers avoid waiting for
+   * work that needs a slot the surrounding consumer already holds.
+   *
+   * @param <T> The type of the operation result.
+   * @param nested supplies the operation to run within a scoped consumer.
+   * @param outside supplies the operation to run elsewhere.
+   * @return A {@link Uni} containing the result of the chosen operation.
+   */
+  public <T> Uni<T> nestedOr(final Supplier<Uni<T>> nested, final Supplier<Uni<T>> outside) {
+    // Checked on subscription, where the operation actually starts
+    return Uni.createFrom()
+        .context(context -> context.contains(contextKey) ? nested.get() : outside.get());
+  }
+
+  /**
+   * Marks the subscription of the {@link Uni} returned by the consumer, so repository operations
+   * that are part of it run on the slot the consumer already holds. Used for the callbacks passed
+   * to {@code withSession} and {@code withTransaction}. The consumer result is subscribed with its
+   * own copy of the subscription context, so operations running next to the consumer are not
+   * marked.
+   *
+   * @param <S> The type of the consumer argument.
+   * @param <R> The type of the consumer result.
+   * @param consumer the consumer to mark.
+   * @return the marking consumer.
+   */
+  public <S, R> Function<S, Uni<R>> scoped(final Function<S, Uni<R>> consumer) {
+    return argument ->
+        Uni.createFrom()
+            .context(
+                outer -> {
+                  final Context inner = Context.empty();
+                  outer.keys().forEach(key -> inner.put(key, outer.get(key)));
+                  inner.put(contextKey, Boolean.TRUE);
+                  return Uni.createFrom()
+                      .emitter(
+                          emitter -> {
+                            final Cancellable subscription =
+                                Uni.createFrom()
+                                    .deferred(() -> consumer.apply(argument))
+                                    .subscribe()
+                                    .with(inner, emitter::complete, emitter::fail);
+                            emitter.onTermination(subscription::cancel);
+                          });
+                });
+  }
+
+  private <T> Uni<T> limit(final Supplier<Uni<T>> operation) {
+    return Uni.createFrom()
+        .emitter(
+            emitter -> {
+              final io.vertx.core.Context context = Vertx.currentContext();
+              final Ticket ticket =
+                  new Ticket(
+                      context,
+                      () ->
+                          Uni.createFrom()
+                              .deferred(operation)
+                              .subscribe()
+                              .with(emitter::complete, emitter::fail));
+              emitter.onTermination(() -> release(ticket));
+              if (!acquire(ticket)) {
+                emitter.fail(new BulkheadRejectedException(repositoryName));
+              }
+            });
+  }
+
+  private boolean acquire(final Ticket ticket) {
+    synchronized (this) {
+      if (running < maxConcurrent) {
+        running++;
+        ticket.state = State.RUNNING;
+      } else if (queue.size() < maxQueued) {
+        queue.add(ticket);
+        ticket.state = State.QUEUED;
+        return true;
+      } else {
+        return false;
+      }
+    }
+    ticket.start();
+    return true;
+  }
+
+  private void release(final Ticket ticket) {
+    final Ticket next;
+    synchronized (this) {
+      switch (ticket.state) {
+        case QUEUED -> {
+          queue.remove(ticket);
+          ticket.state = State.DONE;
+          return;
+        }
+        case RUNNING -> {
+          ticket.state = State.DONE;
+          next = queue.poll();
+          if (isNull(next)) {
+            running--;
+          } else {
+            // The slot is handed over without being released
+            next.state = State.RUNNING;
+          }
+        }
+        default -> {
+          return;
+        }
+      }
+    }
+    ticket.finish();
+    if (nonNull(next)) {
+      next.start();
+    }
+  }
+
+  private enum State {
+    NEW,
+    QUEUED,
+    RUNNING,
+    DONE
+  }
+
+  /** A single operation waiting for, or holding, a slot. */
+  private final class Ticket {
+    private final io.vertx.core.Context context;
+    private final Supplier<Cancellable> task;
+    private final AtomicReference<Cancellable> subscription = new AtomicReference<>();
+    private volatile boolean finished;
+
+    // Guarded by RepositoryBulkhead.this
+    private State state = State.NEW;
+
+    private Ticket(final io.vertx.core.Context context, final Supplier<Cancellable> task) {
+      this.context = context;
+      this.task = task;
+    }
+
+    /** Runs the operation on the context it was submitted from. */
+    private void start() {
+      if (isNull(context) || context == Vertx.currentContext()) {
+        run();
+      } else {
+        context.runOnContext(ignored -> run());
+      }
+    }
+
+    private void run() {
+      if (finished) {
+        return;
+      }
+      subscription.set(task.get());
+      if (finished) {
+        subscription.get().cancel();
+      }
+    }
+
+    /** Cancels the operation if it is still running. */
+    private void finish() {
+      finished = true;
+      final Cancellable running = subscription.get();
+      if (nonNull(running)) {
+        running.cancel();
+      }
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package io.quarkus.reactive.repository.config;
+
+import static java.util.Objects.isNull;
+
+import io.quarkus.reactive.repository.annotations.bean.ReactiveRepositoryBean;
+import java.time.Duration;
+import java.util.Optional;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+/**
+ * Resolved options of a single repository. Values declared on {@link ReactiveRepositoryBean} are
+ * used as defaults and can be overridden with {@code reactive-repository.<RepositorySimpleName>.*}
+ * configuration properties.
+ */
+public class RepositoryOptions {
+  private static final String PREFIX = "reactive-repository.";
+
+  private final String repositoryName;
+  private final int maxConcurrentOperations;
+  private final int maxQueuedOperations;
+  private final Duration operationTimeout;
+  private final boolean writeBehind;
+  private final int writeBehindMaxBatchSize;
+  private final Duration writeBehindFlushInterval;
+  private final int writeBehindMaxRetries;
+  private final String[] shards;
+  private final boolean cached;
+  private final String cacheRegion;
+  private final long cacheMaxSize;
+  private final Duration cacheTtl;
+
+  private RepositoryOptions(final String repositoryName, final Lookup lookup) {
+    this.repositoryName = repositoryName;
+    this.maxConcurrentOperations =
+        lookup.get(
+            "max-concurrent-operations", Integer.class, lookup.bean().maxConcurrentOperations());
+    this.maxQueuedOperations =
+        lookup.get("max-queued-operations", Integer.class, lookup.bean().maxQueuedOperations());
+    final long timeoutMillis =
+        lookup.get("operation-timeout-millis", Long.class, lookup.bean().operationTimeoutMillis());
+    this.operationTimeout = timeoutMillis > 0 ? Duration.ofMillis(timeoutMillis) : null;
+    this.writeBehind = lookup.get("write-behind", Boolean.class, lookup.bean().writeBehind());
+    this.writeBehindMaxBatchSize =
+        lookup.get(
+            "write-behind-max-batch-size", Integer.class, lookup.bean().writeBehindMaxBatchSize());
+    this.writeBehindFlushInterval =
+        Duration.ofMillis(
+            lookup.get(
+                "write-behind-flush-interval-millis",
+                Long.class,
+                lookup.bean().writeBehindFlushIntervalMillis()));
+    this.writeBehindMaxRetries =
+        lookup.get(
+            "write-behind-max-retries", Integer.class, lookup.bean().writeBehindMaxRetries());
+    this.shards = lookup.get("shards", String[].class, lookup.bean().shards());
+    this.cached = lookup.get("cached", Boolean.class, lookup.bean().cached());
+    this.cacheRegion = lookup.get("cache-region", String.class, lookup.bean().cacheRegion());
+    this.cacheMaxSize = lookup.get("cache-max-size", Long.class, lookup.bean().cacheMaxSize());
+    this.cacheTtl =
+        Duration.ofMillis(
+            lookup.get("cache-ttl-millis", Long.class, lookup.bean().cacheTtlMillis()));
+  }
+
+  /**
+   * Resolves the options of the given repository interface.
+   *
+   * @param repositoryInterface the interface annotated with {@link ReactiveRepositoryBean}.
+   * @return the resolved options.
+   */
+  public static RepositoryOptions of(final Class<?> repositoryInterface) {
+    return new RepositoryOptions(
+        repositoryInterface.getSimpleName(),
+        new Lookup(
+            repositoryInterface.getSimpleName(),
+            repositoryInterface.getAnnotation(ReactiveRepositoryBean.class)));
+  }
+
+  public String repositoryName() {
+    return repositoryName;
+  }
+
+  public int maxConcurrentOperations() {
+    return maxConcurrentOperations;
+  }
+
+  public int maxQueuedOperations() {
+    return maxQueuedOperations;
+  }
+
+  /**
+   * @return the operation timeout, or null if operations should not time out.
+   */
+  public Duration operationTimeout() {
+    return operationTimeout;
+  }
+
+  public boolean writeBehind() {
+    return writeBehind;
+  }
+
+  public int writeBehindMaxBatchSize() {
+    return writeBehindMaxBatchSize;
+  }
+
+  public Duration writeBehindFlushInterval() {
+    return writeBehindFlushInterval;
+  }
+
+  public int writeBehindMaxRetries() {
+    return writeBehindMaxRetries;
+  }
+
+  public String[] shards() {
+    return shards;
+  }
+
+  public boolean cached() {
+    return cached;
+  }
+
+  /**
+   * @return the cache region name, or an empty string to use the entity name.
+   */
+  public String cacheRegion() {
+    return cacheRegion;
+  }
+
+  public long cacheMaxSize() {
+    return cacheMaxSize;
+  }
+
+  public Duration cacheTtl() {
+    return cacheTtl;
+  }
+
+  /** Reads a single option, preferring the configuration over the annotation value. */
+  private record Lookup(String repositoryName, ReactiveRepositoryBean bean) {
+    private Lookup {
+      if (isNull(bean)) {
+        throw new IllegalStateException(
+            String.format("%s is not annotated with @ReactiveRepositoryBean.", repositoryName));
+      }
+    }
+
+    <T> T get(final String option, final Class<T> type, final T annotationValue) {
+      final Config config = ConfigProvider.getConfig();
+      final Optional<T> configured =
+          config.getOptionalValue(PREFIX + repositoryName + "." + option, type);
+      return configured.orElse(annotationValue);
+    }
+  }
+}
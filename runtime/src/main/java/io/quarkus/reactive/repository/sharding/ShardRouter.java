@@ -0,0 +1,110 @@
+package io.quarkus.reactive.repository.sharding;
+
+import static java.util.Objects.isNull;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnit;
+import io.quarkus.reactive.repository.types.Identifiable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.reactive.mutiny.Mutiny;
+
+/**
+ * Routes repository operations to the session factory of a shard by the hash of the entity
+ * identifier. An unsharded repository is routed to its single session factory. The order of the
+ * shards defines the routing, so changing it moves entities to other shards.
+ */
+public class ShardRouter {
+  private static final String DEFAULT_PERSISTENCE_UNIT = "<default>";
+
+  private final List<Mutiny.SessionFactory> shards;
+
+  private ShardRouter(final List<Mutiny.SessionFactory> shards) {
+    this.shards = shards;
+  }
+
+  /**
+   * Creates a router that sends every operation to the given session factory.
+   *
+   * @param sf the session factory.
+   * @return the router.
+   */
+  public static ShardRouter single(final Mutiny.SessionFactory sf) {
+    return new ShardRouter(List.of(sf));
+  }
+
+  /**
+   * Creates a router over the session factories of the given persistence units. The default
+   * persistence unit, named {@code <default>}, resolves to the given session factory.
+   *
+   * @param sf the session factory of the default persistence unit.
+   * @param persistenceUnits the persistence unit names of the shards, or an empty array.
+   * @return the router.
+   */
+  public static ShardRouter of(final Mutiny.SessionFactory sf, final String[] persistenceUnits) {
+    if (persistenceUnits.length == 0) {
+      return single(sf);
+    }
+    return new ShardRouter(
+        Arrays.stream(persistenceUnits)
+            .map(String::trim)
+            .map(name -> DEFAULT_PERSISTENCE_UNIT.equals(name) ? sf : resolve(name))
+            .toList());
+  }
+
+  public boolean isSharded() {
+    return shards.size() > 1;
+  }
+
+  /**
+   * @return the session factories of all shards, in routing order.
+   */
+  public List<Mutiny.SessionFactory> all() {
+    return shards;
+  }
+
+  /**
+   * Resolves the shard of the given identifier.
+   *
+   * @param id the entity identifier, may be null only if the repository is not sharded.
+   * @return the session factory of the shard.
+   * @throws IllegalStateException if the repository is sharded and the identifier is null.
+   */
+  public Mutiny.SessionFactory forId(final Object id) {
+    if (!isSharded()) {
+      return shards.getFirst();
+    }
+    if (isNull(id)) {
+      throw new IllegalStateException(
+          "Sharded repositories route by identifier, assign it before persisting the entity.");
+    }
+    return shards.get(Math.floorMod(id.hashCode(), shards.size()));
+  }
+
+  /**
+   * Groups entities by the shard they are routed to.
+   *
+   * @param <E> The type of the entity.
+   * @param entities the entities to group.
+   * @return the entities of every shard, keyed by its session factory.
+   */
+  public <E extends Identifiable<?>> Map<Mutiny.SessionFactory, List<E>> group(
+      final List<E> entities) {
+    final Map<Mutiny.SessionFactory, List<E>> groups = new LinkedHashMap<>();
+    for (final E entity : entities) {
+      groups.computeIfAbsent(forId(entity.getId()), ignored -> new ArrayList<>()).add(entity);
+    }
+    return groups;
+  }
+
+  private static Mutiny.SessionFactory resolve(final String persistenceUnit) {
+    return Arc.container()
+        .select(
+            Mutiny.SessionFactory.class,
+            new PersistenceUnit.PersistenceUnitLiteral(persistenceUnit))
+        .get();
+  }
+}
@@ -0,0 +1,54 @@
+package io.quarkus.reactive.repository.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/** Merges results of several shards that are each sorted by the same order. */
+public final class SortedMerge {
+  private SortedMerge() {}
+
+  /**
+   * Merges sorted lists into one sorted list.
+   *
+   * @param <T> The type of the elements.
+   * @param sorted the lists, each sorted by the given order.
+   * @param order the order of the lists.
+   * @return the merged list.
+   */
+  public static <T> List<T> merge(final List<List<T>> sorted, final Comparator<? super T> order) {
+    final int size = sorted.stream().mapToInt(List::size).sum();
+    final List<T> merged = new ArrayList<>(size);
+    final PriorityQueue<Cursor<T>> heads =
+        new PriorityQueue<>(
+            Math.max(1, sorted.size()), (left, right) -> order.compare(left.head(), right.head()));
+    sorted.stream().filter(list -> !list.isEmpty()).map(Cursor::new).forEach(heads::add);
+    while (!heads.isEmpty()) {
+      final Cursor<T> cursor = heads.poll();
+      merged.add(cursor.head());
+      if (cursor.advance()) {
+        heads.add(cursor);
+      }
+    }
+    return merged;
+  }
+
+  /** Position within one sorted list. */
+  private static final class Cursor<T> {
+    private final List<T> list;
+    private int index;
+
+    private Cursor(final List<T> list) {
+      this.list = list;
+    }
+
+    private T head() {
+      return list.get(index);
+    }
+
+    private boolean advance() {
+      return ++index < list.size();
+    }
+  }
+}
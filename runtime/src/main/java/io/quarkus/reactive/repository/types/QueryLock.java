@@ -0,0 +1,37 @@
+package io.quarkus.reactive.repository.types;
+
+import jakarta.persistence.LockModeType;
+
+public class QueryLock {
+  private final LockModeType mode;
+  private final boolean skipLocked;
+
+  public QueryLock(LockModeType mode, boolean skipLocked) {
+    if (skipLocked && mode != LockModeType.PESSIMISTIC_WRITE) {
+      throw new IllegalArgumentException(
+          String.format("Skipping locked rows requires PESSIMISTIC_WRITE, got %s.", mode));
+    }
+    this.mode = mode;
+    this.skipLocked = skipLocked;
+  }
+
+  public LockModeType mode() {
+    return mode;
+  }
+
+  public boolean skipLocked() {
+    return skipLocked;
+  }
+
+  public static QueryLock of(LockModeType mode, boolean skipLocked) {
+    return new QueryLock(mode, skipLocked);
+  }
+
+  public static QueryLock of(String mode, boolean skipLocked) {
+    return new QueryLock(LockModeType.valueOf(mode), skipLocked);
+  }
+
+  public static QueryLock forUpdateSkipLocked() {
+    return new QueryLock(LockModeType.PESSIMISTIC_WRITE, true);
+  }
+}
@@ -0,0 +1,393 @@
+package io.quarkus.reactive.repository.writebehind;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import io.quarkus.reactive.repository.types.Identifiable;
+import io.smallrye.common.vertx.VertxContext;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.jboss.logging.Logger;
+
+/**
+ * Collects updates of existing entities in memory and writes them in batches. Updates are coalesced
+ * per identifier so only the last write of an entity reaches the database. A flush starts when the
+ * buffer reaches the maximum batch size, when the flush interval elapses after the first buffered
+ * update, or when {@link #flush()} is called. Only one flush runs at a time.
+ *
+ * <p>A failed flush is logged and its entities return to the buffer. Once an entity took part in
+ * more failed flushes than the maximum number of retries, the batch is written one entity at a
+ * time, so the entities that still fail are isolated. They are dropped, logged and kept for {@link
+ * #drainFailures()}, while the rest of the batch is written.
+ *
+ * @param <Entity> The type of the buffered entity.
+ */
+public class WriteBehindBuffer<Entity extends Identifiable<?>> {
+  private static final Logger LOG = Logger.getLogger(WriteBehindBuffer.class);
+  private static final int MAX_RETAINED_FAILURES = 1000;
+
+  private final String name;
+  private final int maxBatchSize;
+  private final Duration flushInterval;
+  private final int maxRetries;
+  private final Function<List<Entity>, Uni<Void>> writer;
+
+  // Guarded by this
+  private final Map<Object, Entity> pending = new LinkedHashMap<>();
+  private final Map<Object, Entity> inFlightBatch = new LinkedHashMap<>();
+  private final Map<Object, Integer> failedAttempts = new HashMap<>();
+  private final Deque<WriteBehindFailure<Entity>> failures = new ArrayDeque<>();
+  private Uni<Void> inFlight;
+  private boolean registered;
+  private boolean flushScheduled;
+  private Vertx vertx;
+  private long coalescedWrites;
+  private long flushes;
+  private long flushedEntities;
+  private long failedFlushes;
+  private long droppedEntities;
+
+  /**
+   * @param name the name of the repository, used in log messages.
+   * @param maxBatchSize number of buffered entities that triggers a flush.
+   * @param flushInterval maximum time an update stays in the buffer.
+   * @param maxRetries number of failed flushes an entity may take part in before it is isolated.
+   * @param writer writes a batch of entities within a single transaction.
+   */
+  public WriteBehindBuffer(
+      final String name,
+      final int maxBatchSize,
+      final Duration flushInterval,
+      final int maxRetries,
+      final Function<List<Entity>, Uni<Void>> writer) {
+    this.name = name;
+    this.maxBatchSize = maxBatchSize;
+    this.flushInterval = flushInterval;
+    this.maxRetries = maxRetries;
+    this.writer = writer;
+  }
+
+  /**
+   * Buffers an update of an existing entity, replacing any pending update with the same
+   * identifier. The returned {@link Uni} completes immediately, unless the update fills the buffer,
+   * in which case it completes once the buffer is flushed.
+   *
+   * @param entity The entity to write.
+   * @return A {@link Uni} containing the buffered entity.
+   */
+  public Uni<Entity> write(final Entity entity) {
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              if (add(entity)) {
+                return flush().replaceWith(entity);
+              }
+              return Uni.createFrom().item(entity);
+            });
+  }
+
+  /**
+   * Buffers an update like {@link #write}, but never waits for a flush. If the update fills the
+   * buffer, the flush starts in the background. Used by repository operations that already hold
+   * the slot a flush would need.
+   *
+   * @param entity The entity to write.
+   * @return A {@link Uni} containing the buffered entity.
+   */
+  public Uni<Entity> enqueue(final Entity entity) {
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              if (add(entity)) {
+                flushInBackground();
+              }
+              return Uni.createFrom().item(entity);
+            });
+  }
+
+  /**
+   * Returns the pending update of the entity with the given identifier, including updates of a
+   * flush that is still running.
+   *
+   * @param id The identifier of the entity.
+   * @return The pending entity, or null if there is none.
+   */
+  public synchronized Entity pending(final Object id) {
+    final Entity buffered = pending.get(id);
+    return nonNull(buffered) ? buffered : inFlightBatch.get(id);
+  }
+
+  /**
+   * Drops the pending update of the entity with the given identifier and waits for a running flush,
+   * so a following delete cannot be overwritten by it.
+   *
+   * @param id The identifier of the entity.
+   * @return A {@link Uni} completing once no flush is running.
+   */
+  public Uni<Void> discard(final Object id) {
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              final Uni<Void> running;
+              synchronized (this) {
+                discardNow(id);
+                running = inFlight;
+              }
+              if (isNull(running)) {
+                return Uni.createFrom().voidItem();
+              }
+              return running.onFailure().recoverWithNull();
+            });
+  }
+
+  /**
+   * Drops the pending update of the entity with the given identifier without waiting for a running
+   * flush. Used by repository operations that already hold the slot the flush would need. If the
+   * running flush writes the entity after it was deleted, the write fails and is isolated like any
+   * other failed update.
+   *
+   * @param id The identifier of the entity.
+   */
+  public synchronized void discardNow(final Object id) {
+    pending.remove(id);
+    failedAttempts.remove(id);
+  }
+
+  /**
+   * Writes all buffered updates in a single transaction. If a flush is already running, waits for
+   * it and flushes what has been buffered in the meantime. On failure the entities are returned to
+   * the buffer unless a newer update of them arrived.
+   *
+   * @return A {@link Uni} completing once the buffered updates are written.
+   */
+  public Uni<Void> flush() {
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              synchronized (this) {
+                if (nonNull(inFlight)) {
+                  return inFlight.onFailure().recoverWithNull().chain(this::flush);
+                }
+                if (pending.isEmpty()) {
+                  return Uni.createFrom().voidItem();
+                }
+                final List<Entity> batch = new ArrayList<>(pending.values());
+                // Kept readable until the batch is committed or returned to the buffer
+                inFlightBatch.putAll(pending);
+                pending.clear();
+                inFlight =
+                    writeBatch(batch)
+                        .invoke(this::countFlush)
+                        .eventually(this::finished)
+                        .memoize()
+                        .indefinitely();
+                return inFlight;
+              }
+            });
+  }
+
+  /**
+   * Flushes the buffer on a new Vert.x duplicated context, so it can be called from threads that do
+   * not run on the event loop, e.g. during shutdown.
+   *
+   * @return A {@link Uni} completing once the buffered updates are written.
+   */
+  public Uni<Void> flushOnNewContext() {
+    final Vertx owner;
+    synchronized (this) {
+      owner = vertx;
+    }
+    if (isNull(owner)) {
+      return flush();
+    }
+    final Context context = VertxContext.createNewDuplicatedContext(owner.getOrCreateContext());
+    return Uni.createFrom()
+        .emitter(
+            emitter ->
+                context.runOnContext(
+                    ignored -> flush().subscribe().with(emitter::complete, emitter::fail)));
+  }
+
+  /**
+   * @return The name of the repository the buffer belongs to.
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * @return A snapshot of the buffer statistics.
+   */
+  public synchronized WriteBehindStatistics statistics() {
+    return new WriteBehindStatistics(
+        pending.size(), coalescedWrites, flushes, flushedEntities, failedFlushes, droppedEntities);
+  }
+
+  /**
+   * Removes and returns the updates dropped since the last call. Only the most recent failures are
+   * kept, {@link WriteBehindStatistics#droppedEntities()} counts all of them.
+   *
+   * @return The dropped updates with the cause of their last failure, oldest first.
+   */
+  public synchronized List<WriteBehindFailure<Entity>> drainFailures() {
+    final List<WriteBehindFailure<Entity>> drained = List.copyOf(failures);
+    failures.clear();
+    return drained;
+  }
+
+  /**
+   * Adds the entity to the buffer, scheduling a timed flush unless the buffer is full.
+   *
+   * @return true if the buffer reached the maximum batch size.
+   */
+  private synchronized boolean add(final Entity entity) {
+    if (!registered) {
+      WriteBehindRegistry.register(this);
+      registered = true;
+    }
+    if (nonNull(pending.put(entity.getId(), entity))) {
+      coalescedWrites++;
+    }
+    if (isNull(vertx) && nonNull(Vertx.currentContext())) {
+      vertx = Vertx.currentContext().owner();
+    }
+    final boolean full = pending.size() >= maxBatchSize;
+    if (!full) {
+      scheduleFlush();
+    }
+    return full;
+  }
+
+  /**
+   * Writes the batch in one transaction. If it fails and one of its entities exhausted its retries,
+   * writes the entities one at a time instead, otherwise returns them to the buffer.
+   */
+  private Uni<Void> writeBatch(final List<Entity> batch) {
+    return writer
+        .apply(batch)
+        .onItem()
+        .invoke(() -> written(batch))
+        .onFailure()
+        .recoverWithUni(
+            failure -> {
+              LOG.warnf(
+                  failure,
+                  "Write-behind flush of %s failed for ids %s",
+                  name,
+                  batch.stream().map(Identifiable::getId).toList());
+              if (retry(batch)) {
+                return Uni.createFrom().failure(failure);
+              }
+              return isolate(batch);
+            });
+  }
+
+  /** Writes the entities one at a time, dropping the ones that fail. */
+  private Uni<Void> isolate(final List<Entity> batch) {
+    return Multi.createFrom()
+        .iterable(batch)
+        .onItem()
+        .transformToUniAndConcatenate(
+            entity ->
+                writer
+                    .apply(List.of(entity))
+                    .onItem()
+                    .invoke(() -> written(List.of(entity)))
+                    .onFailure()
+                    .invoke(failure -> drop(entity, failure))
+                    .onFailure()
+                    .recoverWithNull())
+        .collect()
+        .last()
+        .replaceWithVoid();
+  }
+
+  private synchronized void written(final List<Entity> entities) {
+    flushedEntities += entities.size();
+    entities.forEach(entity -> failedAttempts.remove(entity.getId()));
+  }
+
+  private synchronized void countFlush() {
+    flushes++;
+  }
+
+  /**
+   * Counts a failed flush and returns the batch to the buffer, unless one of its entities has
+   * exhausted its retries.
+   *
+   * @return true if the batch was returned to the buffer.
+   */
+  private synchronized boolean retry(final List<Entity> batch) {
+    failedFlushes++;
+    boolean exhausted = false;
+    for (final Entity entity : batch) {
+      if (failedAttempts.merge(entity.getId(), 1, Integer::sum) > maxRetries) {
+        exhausted = true;
+      }
+    }
+    if (!exhausted) {
+      batch.forEach(entity -> pending.putIfAbsent(entity.getId(), entity));
+    }
+    return !exhausted;
+  }
+
+  private synchronized void drop(final Entity entity, final Throwable failure) {
+    LOG.errorf(
+        failure,
+        "Write-behind update of %s with id %s dropped after %d failed flushes",
+        name,
+        entity.getId(),
+        failedAttempts.getOrDefault(entity.getId(), 0) + 1);
+    failedAttempts.remove(entity.getId());
+    droppedEntities++;
+    failures.addLast(new WriteBehindFailure<>(entity, failure));
+    if (failures.size() > MAX_RETAINED_FAILURES) {
+      failures.removeFirst();
+    }
+  }
+
+  private synchronized void finished() {
+    inFlight = null;
+    inFlightBatch.clear();
+    scheduleFlush();
+  }
+
+  /** Starts a flush without waiting for it. Failures are logged by {@link #writeBatch}. */
+  private void flushInBackground() {
+    flushOnNewContext().subscribe().with(ignored -> {}, ignored -> {});
+  }
+
+  /** Schedules a timed flush if there are buffered updates and none is scheduled yet. */
+  private void scheduleFlush() {
+    if (flushScheduled || pending.isEmpty()) {
+      return;
+    }
+    flushScheduled = true;
+    final Runnable timedFlush =
+        () -> {
+          synchronized (this) {
+            flushScheduled = false;
+          }
+          flushInBackground();
+        };
+    if (nonNull(vertx)) {
+      vertx.setTimer(flushInterval.toMillis(), ignored -> timedFlush.run());
+    } else {
+      Infrastructure.getDefaultWorkerPool()
+          .schedule(timedFlush, flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+}
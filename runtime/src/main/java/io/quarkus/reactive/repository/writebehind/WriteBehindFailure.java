@@ -0,0 +1,10 @@
+package io.quarkus.reactive.repository.writebehind;
+
+/**
+ * A buffered update that was dropped because it kept failing to be written.
+ *
+ * @param entity the dropped update.
+ * @param cause the failure of its last write.
+ * @param <Entity> The type of the entity.
+ */
+public record WriteBehindFailure<Entity>(Entity entity, Throwable cause) {}
@@ -0,0 +1,30 @@
+package io.quarkus.reactive.repository.writebehind;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffers that received at least one update. Buffers join on first use, so shutdown
+ * only flushes the repositories the application actually wrote through.
+ */
+final class WriteBehindRegistry {
+  private static final Set<WriteBehindBuffer<?>> BUFFERS = ConcurrentHashMap.newKeySet();
+
+  private WriteBehindRegistry() {}
+
+  static void register(final WriteBehindBuffer<?> buffer) {
+    BUFFERS.add(buffer);
+  }
+
+  /**
+   * Removes and returns all registered buffers.
+   *
+   * @return the buffers that received updates since the last drain.
+   */
+  static List<WriteBehindBuffer<?>> drain() {
+    final List<WriteBehindBuffer<?>> buffers = List.copyOf(BUFFERS);
+    BUFFERS.removeAll(buffers);
+    return buffers;
+  }
+}
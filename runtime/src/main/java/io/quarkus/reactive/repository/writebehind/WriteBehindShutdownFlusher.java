@@ -0,0 +1,31 @@
+package io.quarkus.reactive.repository.writebehind;
+
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import org.jboss.logging.Logger;
+
+/**
+ * Flushes the write-behind buffers that received updates when the application shuts down, while
+ * the datasources are still available. A buffer that fails to flush does not stop the others.
+ */
+@Singleton
+public class WriteBehindShutdownFlusher {
+  private static final Logger LOG = Logger.getLogger(WriteBehindShutdownFlusher.class);
+  private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(30);
+
+  void onShutdown(@Observes final ShutdownEvent event) {
+    for (final WriteBehindBuffer<?> buffer : WriteBehindRegistry.drain()) {
+      try {
+        buffer.flushOnNewContext().await().atMost(FLUSH_TIMEOUT);
+      } catch (RuntimeException e) {
+        LOG.errorf(
+            e,
+            "Write-behind buffer of %s failed to flush on shutdown, %d updates lost",
+            buffer.name(),
+            buffer.statistics().depth());
+      }
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package io.quarkus.reactive.repository.writebehind;
+
+/**
+ * Snapshot of the write-behind buffer of a repository.
+ *
+ * @param depth number of entities currently waiting to be flushed.
+ * @param coalescedWrites number of writes that replaced a pending write of the same entity.
+ * @param flushes number of completed flushes.
+ * @param flushedEntities number of entities written by completed flushes.
+ * @param failedFlushes number of flushes that failed and returned their entities to the buffer.
+ * @param droppedEntities number of updates dropped after exhausting their retries.
+ */
+public record WriteBehindStatistics(
+    int depth,
+    long coalescedWrites,
+    long flushes,
+    long flushedEntities,
+    long failedFlushes,
+    long droppedEntities) {
+
+  /** Statistics of a repository that does not use write-behind. */
+  public static final WriteBehindStatistics DISABLED = new WriteBehindStatistics(0, 0, 0, 0, 0, 0);
+}
@@ -0,0 +1,32 @@
+package io.quarkus.reactive.repository.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SortedMergeTests {
+
+  @Test
+  public void testMergesSortedLists() {
+    final List<Integer> merged =
+        SortedMerge.merge(
+            List.of(List.of(1, 4, 7), List.of(2, 5), List.of(), List.of(3, 6, 8, 9)),
+            Comparator.naturalOrder());
+    assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), merged);
+  }
+
+  @Test
+  public void testKeepsEqualElementsAndOrder() {
+    final List<Integer> merged =
+        SortedMerge.merge(
+            List.of(List.of(9, 5, 5, 1), List.of(8, 5, 2)), Comparator.reverseOrder());
+    assertEquals(List.of(9, 8, 5, 5, 5, 2, 1), merged);
+  }
+
+  @Test
+  public void testMergesNoLists() {
+    assertEquals(List.of(), SortedMerge.merge(List.<List<Integer>>of(), Comparator.naturalOrder()));
+  }
+}
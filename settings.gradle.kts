@@ -12,6 +12,6 @@ pluginManagement {
     }
 }
 
-include(":runtime", ":deployment", ":examples")
+include(":runtime", ":deployment", ":testing", ":examples")
 
 rootProject.name="quarkus-reactive-repository"
\ No newline at end of file
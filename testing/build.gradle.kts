@@ -0,0 +1,24 @@
+plugins {
+    id("com.diffplug.spotless") version "7.2.1"
+    id("java-library")
+    id("maven-publish")
+}
+
+val quarkusPlatformGroupId: String by project
+val quarkusPlatformArtifactId: String by project
+val quarkusPlatformVersion: String by project
+
+dependencies {
+    implementation(enforcedPlatform("${quarkusPlatformGroupId}:${quarkusPlatformArtifactId}:${quarkusPlatformVersion}"))
+
+    implementation("io.quarkus:quarkus-hibernate-reactive")
+}
+
+spotless {
+    java {
+        target("**/*.java")
+        googleJavaFormat("1.28.0")
+        removeUnusedImports()
+        formatAnnotations()
+    }
+}
\ No newline at end of file
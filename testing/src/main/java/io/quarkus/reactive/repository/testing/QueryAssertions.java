@@ -0,0 +1,172 @@
+package io.quarkus.reactive.repository.testing;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnit;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.inject.Any;
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hibernate.reactive.mutiny.Mutiny;
+
+/**
+ * Assertions on the SQL statements issued by a single repository call, e.g. {@code
+ * assertQueries(userRepository.getUsersWhereLastName("x")).count(1)}. Repository calls are awaited
+ * one at a time, so statements of calls running concurrently in the background are attributed to
+ * whichever call is being asserted. Every persistence unit of the application must be recorded, see
+ * {@link RecordingStatementInspector}.
+ */
+public final class QueryAssertions {
+  private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+  private final List<String> statements;
+
+  private QueryAssertions(final List<String> statements) {
+    this.statements = statements;
+  }
+
+  /**
+   * Awaits the repository call and records the statements it issued.
+   *
+   * @param call the repository call, not yet subscribed.
+   * @return the assertions on the recorded statements.
+   */
+  public static QueryAssertions assertQueries(final Uni<?> call) {
+    return assertQueries(call, DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * Awaits the repository call and records the statements it issued.
+   *
+   * @param call the repository call, not yet subscribed.
+   * @param timeout the maximum time to wait for the call.
+   * @return the assertions on the recorded statements.
+   */
+  public static QueryAssertions assertQueries(final Uni<?> call, final Duration timeout) {
+    verifyAllUnitsRecorded();
+    RecordedStatements.start();
+    final List<String> statements;
+    try {
+      call.await().atMost(timeout);
+    } finally {
+      statements = RecordedStatements.stop();
+    }
+    return new QueryAssertions(statements);
+  }
+
+  /**
+   * Asserts the call issued exactly the given number of statements.
+   *
+   * @param expected the expected number of statements.
+   * @return this instance.
+   */
+  public QueryAssertions count(final int expected) {
+    if (statements.size() != expected) {
+      throw new AssertionError(
+          String.format(
+              "Expected %d statement(s) but %d were issued:%n%s",
+              expected, statements.size(), describe()));
+    }
+    return this;
+  }
+
+  /**
+   * Asserts the call issued at most the given number of statements.
+   *
+   * @param maximum the maximum number of statements.
+   * @return this instance.
+   */
+  public QueryAssertions countAtMost(final int maximum) {
+    if (statements.size() > maximum) {
+      throw new AssertionError(
+          String.format(
+              "Expected at most %d statement(s) but %d were issued:%n%s",
+              maximum, statements.size(), describe()));
+    }
+    return this;
+  }
+
+  /**
+   * Asserts the call did not issue the same statement more than once, which usually points to an
+   * N+1 query.
+   *
+   * @return this instance.
+   */
+  public QueryAssertions noRepeatedStatements() {
+    final Map<String, Long> repeated = repeatedStatements();
+    if (!repeated.isEmpty()) {
+      throw new AssertionError(
+          String.format(
+              "Expected no repeated statements but found:%n%s",
+              repeated.entrySet().stream()
+                  .map(entry -> entry.getValue() + "x " + entry.getKey())
+                  .collect(Collectors.joining(System.lineSeparator()))));
+    }
+    return this;
+  }
+
+  /**
+   * @return the statements issued by the call, in order.
+   */
+  public List<String> statements() {
+    return statements;
+  }
+
+  /**
+   * @return the statements issued more than once, with the number of times they were issued.
+   */
+  public Map<String, Long> repeatedStatements() {
+    return statements.stream()
+        .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+        .entrySet()
+        .stream()
+        .filter(entry -> entry.getValue() > 1)
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+  }
+
+  /**
+   * Fails if a persistence unit of the application has no {@link RecordingStatementInspector}, as
+   * the statements of calls touching it would silently be left out.
+   */
+  private static void verifyAllUnitsRecorded() {
+    final List<String> unrecorded =
+        Arc.container()
+            .select(Mutiny.SessionFactory.class, Any.Literal.INSTANCE)
+            .handlesStream()
+            .map(handle -> persistenceUnitName(handle.getBean().getQualifiers()))
+            .distinct()
+            .filter(
+                unit ->
+                    Arc.container()
+                        .select(
+                            RecordingStatementInspector.class,
+                            new PersistenceUnitExtension.Literal(unit))
+                        .isUnsatisfied())
+            .toList();
+    if (!unrecorded.isEmpty()) {
+      throw new AssertionError(
+          String.format(
+              "Statements of persistence units %s are not recorded. Add a subclass of"
+                  + " RecordingStatementInspector annotated with @PersistenceUnitExtension for"
+                  + " each of them.",
+              unrecorded));
+    }
+  }
+
+  private static String persistenceUnitName(final Set<Annotation> qualifiers) {
+    return qualifiers.stream()
+        .filter(PersistenceUnit.class::isInstance)
+        .map(qualifier -> ((PersistenceUnit) qualifier).value())
+        .findFirst()
+        .orElse(PersistenceUnit.DEFAULT);
+  }
+
+  private String describe() {
+    return String.join(System.lineSeparator(), statements);
+  }
+}
@@ -0,0 +1,43 @@
+package io.quarkus.reactive.repository.testing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Log of the SQL statements issued by Hibernate while a recording is active. Statements are
+ * recorded by {@link RecordingStatementInspector} and dropped when no recording is active, so
+ * statements issued outside {@code assertQueries} are not kept.
+ */
+public final class RecordedStatements {
+  // Guarded by RecordedStatements.class
+  private static final List<String> STATEMENTS = new ArrayList<>();
+  private static int recordings;
+
+  private RecordedStatements() {}
+
+  static synchronized void record(final String sql) {
+    if (recordings > 0) {
+      STATEMENTS.add(sql);
+    }
+  }
+
+  /** Starts recording, dropping statements left over from a previous recording. */
+  static synchronized void start() {
+    if (recordings++ == 0) {
+      STATEMENTS.clear();
+    }
+  }
+
+  /**
+   * Stops recording and returns the recorded statements.
+   *
+   * @return the statements in the order they were issued.
+   */
+  static synchronized List<String> stop() {
+    final List<String> statements = List.copyOf(STATEMENTS);
+    if (--recordings == 0) {
+      STATEMENTS.clear();
+    }
+    return statements;
+  }
+}
@@ -0,0 +1,30 @@
+package io.quarkus.reactive.repository.testing;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.inject.Singleton;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Statement inspector of the default persistence unit that records every statement into {@link
+ * RecordedStatements} without changing it. Named persistence units are recorded by a subclass
+ * annotated for the unit, e.g.
+ *
+ * <pre>{@code
+ * @Singleton
+ * @PersistenceUnitExtension("shard2")
+ * public class Shard2StatementInspector extends RecordingStatementInspector {}
+ * }</pre>
+ *
+ * {@link QueryAssertions} fails if a persistence unit of the application has no such inspector, as
+ * its statements would not be counted.
+ */
+@Singleton
+@PersistenceUnitExtension
+public class RecordingStatementInspector implements StatementInspector {
+
+  @Override
+  public String inspect(final String sql) {
+    RecordedStatements.record(sql);
+    return sql;
+  }
+}